@@ -0,0 +1,53 @@
+package com.spring.fortress.vehicles.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Gives streamed exports their own async timeout.
+ * <p>
+ * A {@code StreamingResponseBody} runs under {@code spring.mvc.async.request-timeout}, which is sized for token
+ * batches; a large export would be cut off mid-stream by it. Requests marked with
+ * {@link #EXPORT_REQUEST_ATTRIBUTE} get {@code export.request-timeout-ms} instead, applied before the async
+ * processing starts.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class ExportTimeoutConfig implements WebMvcConfigurer {
+
+    /**
+     * Request attribute marking a request whose response is a streamed export.
+     */
+    public static final String EXPORT_REQUEST_ATTRIBUTE = ExportTimeoutConfig.class.getName() + ".EXPORT";
+
+    private final long exportTimeoutMs;
+
+    public ExportTimeoutConfig(@Value("${export.request-timeout-ms:1800000}") long exportTimeoutMs) {
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                if (request instanceof AsyncWebRequest asyncRequest
+                        && request.getAttribute(EXPORT_REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+                    asyncRequest.setTimeout(exportTimeoutMs);
+                }
+            }
+        });
+    }
+}
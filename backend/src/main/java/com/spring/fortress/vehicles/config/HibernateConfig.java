@@ -1,6 +1,7 @@
 package com.spring.fortress.vehicles.config;
 
 import com.spring.fortress.vehicles.utils.AuditLogEventListener;
+import com.spring.fortress.vehicles.utils.VehicleSearchEventListener;
 import jakarta.persistence.EntityManagerFactory;
 import org.hibernate.SessionFactory;
 import org.hibernate.event.service.spi.EventListenerRegistry;
@@ -15,7 +16,8 @@ import lombok.RequiredArgsConstructor;
  * {@code HibernateConfig} integrates custom Hibernate event listeners into the Spring context.
  * <p>
  * This configuration class registers an {@link AuditLogEventListener} to listen for specific Hibernate
- * entity lifecycle events — such as {@code POST_INSERT} and {@code POST_UPDATE}.
+ * entity lifecycle events — such as {@code POST_INSERT} and {@code POST_UPDATE} — and a
+ * {@link VehicleSearchEventListener} that adds saved vehicles to the in-memory search index.
  * <p>
  * The listener is registered using the {@link EventListenerRegistry} obtained from the Hibernate
  * {@link SessionFactory}. This allows custom audit logging logic to be executed whenever an entity
@@ -36,6 +38,11 @@ public class HibernateConfig {
      */
     private final AuditLogEventListener auditLogEventListener;
 
+    /**
+     * The listener that indexes vehicles for search once they are saved.
+     */
+    private final VehicleSearchEventListener vehicleSearchEventListener;
+
     /**
      * The JPA-provided entity manager factory, used to unwrap the native Hibernate {@link SessionFactory}.
      */
@@ -59,5 +66,9 @@ public class HibernateConfig {
         assert registry != null;
         registry.appendListeners(EventType.POST_INSERT, auditLogEventListener);
         registry.appendListeners(EventType.POST_UPDATE, auditLogEventListener);
+
+        // Register the search index listener for the same events
+        registry.appendListeners(EventType.POST_INSERT, vehicleSearchEventListener);
+        registry.appendListeners(EventType.POST_UPDATE, vehicleSearchEventListener);
     }
 }
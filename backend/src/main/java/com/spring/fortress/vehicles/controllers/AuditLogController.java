@@ -0,0 +1,113 @@
+package com.spring.fortress.vehicles.controllers;
+
+import com.spring.fortress.vehicles.dtos.request.AuditLogQuery;
+import com.spring.fortress.vehicles.dtos.response.AuditLogPage;
+import com.spring.fortress.vehicles.dtos.response.ErrorResponse;
+import com.spring.fortress.vehicles.interfaces.AuditLogInterface;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controller for querying the audit log.
+ * Provides endpoints for browsing audit entries page by page and exporting them as CSV.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Tag(name = "Audit Logs", description = "Endpoints for querying the audit log")
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/audit-logs")
+public class AuditLogController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final AuditLogInterface auditLogService;
+
+    /**
+     * Retrieves a page of audit entries matching the filters, newest first.
+     *
+     * @param entityType     the entity type to filter by
+     * @param entityId       the entity ID to filter by
+     * @param userEmail      the user email to filter by
+     * @param from           the earliest creation time to include
+     * @param to             the creation time to stop before
+     * @param includeArchive whether to read archived months as well
+     * @param cursor         the cursor returned with the previous page
+     * @param size           the maximum number of entries to return
+     * @return a response with the page and the cursor of the next one
+     */
+    @Operation(summary = "Query audit logs",
+            description = "Retrieves audit entries by entity, user and time range using cursor pagination; "
+                    + "archived months are read only with includeArchive=true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit entries retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = AuditLogPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access")
+    })
+    @GetMapping
+    public ResponseEntity<AuditLogPage> find(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) String userEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeArchive,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Querying audit logs for entity {} {} by {}", entityType, entityId, userEmail);
+        AuditLogQuery query = new AuditLogQuery(entityType, entityId, userEmail, from, to, includeArchive);
+        return ResponseEntity.ok(auditLogService.find(query, cursor, size));
+    }
+
+    /**
+     * Streams every audit entry matching the filters as CSV, newest first.
+     *
+     * @param entityType     the entity type to filter by
+     * @param entityId       the entity ID to filter by
+     * @param userEmail      the user email to filter by
+     * @param from           the earliest creation time to include
+     * @param to             the creation time to stop before
+     * @param includeArchive whether to read archived months as well
+     * @return a streaming CSV response
+     */
+    @Operation(summary = "Export audit logs", description = "Streams audit entries matching the filters as CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Audit entries exported successfully"),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access")
+    })
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) String userEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeArchive) {
+        log.info("Exporting audit logs for entity {} {} by {}", entityType, entityId, userEmail);
+        AuditLogQuery query = new AuditLogQuery(entityType, entityId, userEmail, from, to, includeArchive);
+        StreamingResponseBody body = output -> auditLogService.exportCsv(query, output);
+        ExportResponses.useExportTimeout();
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs.csv\"")
+                .body(body);
+    }
+}
@@ -1,22 +1,39 @@
 package com.spring.fortress.vehicles.controllers;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.fortress.vehicles.dtos.request.TokenBatchItem;
+import com.spring.fortress.vehicles.dtos.response.MeterInfoResponse;
+import com.spring.fortress.vehicles.dtos.response.TokenBatchResult;
+import com.spring.fortress.vehicles.dtos.response.TokenRedemptionResponse;
+import com.spring.fortress.vehicles.exceptions.TokenRedemptionException;
+import com.spring.fortress.vehicles.interfaces.ElectricityTokenInterface;
+import com.spring.fortress.vehicles.models.Token;
+import com.spring.fortress.vehicles.services.TokenVendingService;
 import com.spring.fortress.vehicles.utils.ElectricityTokenUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * REST Controller for electricity token operations.
- * Provides endpoints for token generation, verification, and simulation.
+ * Provides endpoints for token generation, verification, redemption and meter history.
  */
 @RestController
 @RequestMapping("/electricity/tokens")
@@ -25,6 +42,9 @@ import java.util.Map;
 public class ElectricityTokenController {
 
     private final ElectricityTokenUtil electricityTokenUtil;
+    private final ElectricityTokenInterface electricityTokenService;
+    private final TokenVendingService tokenVendingService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Generate a new electricity token.
@@ -41,26 +61,22 @@ public class ElectricityTokenController {
                 return createErrorResponse("Units must be greater than 0", HttpStatus.BAD_REQUEST);
             }
 
-            // Generate token
-            String token = electricityTokenUtil.generateToken(request.getMeterNumber(), request.getUnits());
-
-            // Calculate TID for response
-            long tid = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) -
-                    LocalDateTime.of(1993, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+            // Generate and persist the token so it can be redeemed later
+            Token token = electricityTokenService.issueToken(request.getMeterNumber(), request.getUnits());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Token generated successfully");
             response.put("data", Map.of(
-                    "token", token,
+                    "token", token.getTokenValue(),
                     "meterNumber", request.getMeterNumber(),
                     "units", request.getUnits(),
-                    "tid", tid,
-                    "generatedAt", LocalDateTime.now(),
-                    "expiresIn", "30 days"
+                    "tid", token.getTid(),
+                    "generatedAt", token.getIssuedAt(),
+                    "expiresAt", token.getExpiresAt()
             ));
 
-            log.info("Generated token for meter {}: {}", request.getMeterNumber(), token);
+            log.info("Generated token for meter {}: {}", request.getMeterNumber(), token.getTokenValue());
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -69,6 +85,38 @@ public class ElectricityTokenController {
         }
     }
 
+    /**
+     * Generate tokens for many meters in one call.
+     * POST /electricity/tokens/generate/batch
+     * <p>
+     * Accepts a JSON array or an NDJSON stream of {@code {"meterNumber": ..., "units": ...}} items and
+     * streams back one NDJSON line per item as soon as its token is generated. Invalid items produce
+     * an error line carrying their {@code index} instead of failing the batch.
+     * </p>
+     */
+    @PostMapping(value = "/generate/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> generateTokenBatch(HttpServletRequest httpRequest) throws IOException {
+        InputStream input = httpRequest.getInputStream();
+
+        StreamingResponseBody body = output -> {
+            try (MappingIterator<TokenBatchItem> items = objectMapper.readerFor(TokenBatchItem.class).readValues(input)) {
+                tokenVendingService.vendBatch(items, results -> {
+                    for (TokenBatchResult result : results) {
+                        output.write(objectMapper.writeValueAsBytes(result));
+                        output.write('\n');
+                    }
+                    output.flush();
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Verify an electricity token.
      * POST /electricity/tokens/verify
@@ -133,29 +181,26 @@ public class ElectricityTokenController {
             double rate = 0.15;
             double units = request.getAmount() / rate;
 
-            // Generate token
-            String token = electricityTokenUtil.generateToken(request.getMeterNumber(), units);
-
-            long tid = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) -
-                    LocalDateTime.of(1993, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+            // Generate and persist the token so it can be redeemed later
+            Token token = electricityTokenService.issueToken(request.getMeterNumber(), units);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Token purchased successfully");
             response.put("data", Map.of(
-                    "transactionId", "TXN-" + System.currentTimeMillis(),
-                    "token", token,
+                    "transactionId", "TXN-" + token.getId(),
+                    "token", token.getTokenValue(),
                     "meterNumber", request.getMeterNumber(),
                     "amountPaid", request.getAmount(),
                     "unitsAllocated", Math.round(units * 100.0) / 100.0,
                     "rate", rate,
-                    "tid", tid,
-                    "purchaseDate", LocalDateTime.now(),
-                    "expiryDate", LocalDateTime.now().plusDays(30)
+                    "tid", token.getTid(),
+                    "purchaseDate", token.getIssuedAt(),
+                    "expiryDate", token.getExpiresAt()
             ));
 
             log.info("Token purchased for meter {}: {} - ${} for {} units",
-                    request.getMeterNumber(), token, request.getAmount(), units);
+                    request.getMeterNumber(), token.getTokenValue(), request.getAmount(), units);
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -165,30 +210,33 @@ public class ElectricityTokenController {
     }
 
     /**
-     * Get meter information and current balance simulation.
+     * Get meter information and current balance.
      * GET /electricity/tokens/meter/{meterNumber}
      */
     @GetMapping("/meter/{meterNumber}")
     public ResponseEntity<Map<String, Object>> getMeterInfo(@PathVariable String meterNumber) {
         try {
-            // Simulate meter data
+            MeterInfoResponse meter = electricityTokenService.getMeterInfo(meterNumber);
+
+            // HashMap because customer name and last top-up are absent on new meters
+            Map<String, Object> data = new HashMap<>();
+            data.put("meterNumber", meter.meterNumber());
+            data.put("customerName", meter.customerName());
+            data.put("currentBalance", Math.round(meter.currentBalance() * 100.0) / 100.0);
+            data.put("lastTopUp", meter.lastTopUp());
+            data.put("meterStatus", meter.meterStatus());
+            data.put("totalTokensUsed", meter.totalTokensUsed());
+
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Meter information retrieved successfully");
-            response.put("data", Map.of(
-                    "meterNumber", meterNumber,
-                    "customerName", "John Doe",
-                    "currentBalance", Math.round(Math.random() * 100 * 100.0) / 100.0,
-                    "lastTopUp", LocalDateTime.now().minusDays((long)(Math.random() * 30)),
-                    "averageDailyUsage", Math.round(Math.random() * 10 * 100.0) / 100.0,
-                    "meterStatus", "ACTIVE",
-                    "lastReading", LocalDateTime.now().minusHours(1),
-                    "totalTokensUsed", (long)(Math.random() * 50) + 10
-            ));
+            response.put("data", data);
 
             log.info("Retrieved meter info for: {}", meterNumber);
             return ResponseEntity.ok(response);
 
+        } catch (IllegalStateException e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             log.error("Error fetching meter info: {}", e.getMessage(), e);
             return createErrorResponse("Failed to fetch meter info: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -196,7 +244,7 @@ public class ElectricityTokenController {
     }
 
     /**
-     * Simulate token usage/redemption.
+     * Redeem a token against its meter, crediting the meter balance once.
      * POST /electricity/tokens/redeem
      */
     @PostMapping("/redeem")
@@ -210,22 +258,28 @@ public class ElectricityTokenController {
                 return createErrorResponse("Meter number is required", HttpStatus.BAD_REQUEST);
             }
 
-            // Simulate token redemption
+            TokenRedemptionResponse redemption = electricityTokenService.redeemToken(
+                    request.getToken(), request.getMeterNumber());
+
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Token redeemed successfully");
             response.put("data", Map.of(
-                    "token", request.getToken(),
-                    "meterNumber", request.getMeterNumber(),
-                    "unitsAdded", Math.round(Math.random() * 100 * 100.0) / 100.0,
-                    "newBalance", Math.round(Math.random() * 200 * 100.0) / 100.0,
-                    "redemptionDate", LocalDateTime.now(),
-                    "redemptionId", "RED-" + System.currentTimeMillis()
+                    "token", redemption.token(),
+                    "meterNumber", redemption.meterNumber(),
+                    "unitsAdded", Math.round(redemption.unitsAdded() * 100.0) / 100.0,
+                    "newBalance", Math.round(redemption.newBalance() * 100.0) / 100.0,
+                    "redemptionDate", redemption.redeemedAt(),
+                    "redemptionId", redemption.redemptionId()
             ));
 
-            log.info("Token redeemed for meter {}: {}", request.getMeterNumber(), request.getToken());
+            log.info("Token redeemed for meter {}: {}", request.getMeterNumber(), redemption.token());
             return ResponseEntity.ok(response);
 
+        } catch (TokenRedemptionException e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (IllegalStateException e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             log.error("Error redeeming token: {}", e.getMessage(), e);
             return createErrorResponse("Failed to redeem token: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -233,7 +287,7 @@ public class ElectricityTokenController {
     }
 
     /**
-     * Get token history for a meter.
+     * Get token history for a meter, newest first.
      * GET /electricity/tokens/history/{meterNumber}
      */
     @GetMapping("/history/{meterNumber}")
@@ -241,25 +295,34 @@ public class ElectricityTokenController {
                                                                @RequestParam(defaultValue = "0") int page,
                                                                @RequestParam(defaultValue = "10") int size) {
         try {
-            // Simulate token history
+            Page<Token> history = electricityTokenService.getTokenHistory(meterNumber, page, size);
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+
+            List<Map<String, Object>> tokens = history.getContent().stream()
+                    .map(token -> Map.<String, Object>of(
+                            "token", token.getTokenValue(),
+                            "units", token.getUnits(),
+                            "date", token.getIssuedAt(),
+                            "status", token.effectiveStatus(now)
+                    ))
+                    .toList();
+
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Token history retrieved successfully");
             response.put("data", Map.of(
                     "meterNumber", meterNumber,
-                    "totalTokens", 25,
-                    "page", page,
-                    "size", size,
-                    "tokens", java.util.List.of(
-                            Map.of("token", "12345-67890-12345-67890", "units", 50.0, "date", LocalDateTime.now().minusDays(1), "status", "USED"),
-                            Map.of("token", "98765-43210-98765-43210", "units", 75.0, "date", LocalDateTime.now().minusDays(5), "status", "USED"),
-                            Map.of("token", "11111-22222-33333-44444", "units", 100.0, "date", LocalDateTime.now().minusDays(10), "status", "EXPIRED")
-                    )
+                    "totalTokens", history.getTotalElements(),
+                    "page", history.getNumber(),
+                    "size", history.getSize(),
+                    "tokens", tokens
             ));
 
             log.info("Retrieved token history for meter: {}", meterNumber);
             return ResponseEntity.ok(response);
 
+        } catch (IllegalStateException e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             log.error("Error fetching token history: {}", e.getMessage(), e);
             return createErrorResponse("Failed to fetch token history: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,117 @@
+package com.spring.fortress.vehicles.controllers;
+
+import com.spring.fortress.vehicles.config.ExportTimeoutConfig;
+import com.spring.fortress.vehicles.enums.ExportDataset;
+import com.spring.fortress.vehicles.enums.ExportFormat;
+import com.spring.fortress.vehicles.interfaces.ExportInterface;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds the streaming responses of the bulk export endpoints.
+ * <p>
+ * The body is compressed with gzip as it is written when the client accepts it, so neither the rows nor the
+ * compressed output are ever held in full. Export responses run under {@code export.request-timeout-ms}
+ * rather than {@code spring.mvc.async.request-timeout}, see {@link ExportTimeoutConfig}.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+final class ExportResponses {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private ExportResponses() {
+    }
+
+    /**
+     * Creates a response that streams a dataset as an attachment.
+     *
+     * @param exportService  the service writing the rows
+     * @param dataset        the dataset to export
+     * @param format         the format to write
+     * @param acceptEncoding the request's {@code Accept-Encoding} header, or {@code null}
+     * @return the streaming response
+     */
+    static ResponseEntity<StreamingResponseBody> stream(ExportInterface exportService, ExportDataset dataset,
+                                                        ExportFormat format, String acceptEncoding) {
+        useExportTimeout();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String fileName = dataset.name().toLowerCase(Locale.ROOT) + "." + format.extension();
+        StreamingResponseBody body = output -> {
+            if (!gzip) {
+                exportService.export(dataset, format, output);
+                return;
+            }
+            GZIPOutputStream compressed = new GZIPOutputStream(output, GZIP_BUFFER_SIZE);
+            exportService.export(dataset, format, compressed);
+            compressed.finish();
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Gives the streaming response of the current request the export timeout.
+     */
+    static void useExportTimeout() {
+        RequestContextHolder.currentRequestAttributes().setAttribute(ExportTimeoutConfig.EXPORT_REQUEST_ATTRIBUTE,
+                Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Tells whether an {@code Accept-Encoding} header allows gzip, honouring quality values: {@code gzip;q=0}
+     * refuses it, and {@code *} applies when gzip is not listed.
+     *
+     * @param acceptEncoding the header value, or {@code null}
+     * @return {@code true} if gzip is acceptable
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    quality = parseQuality(param.substring(2).trim());
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return (gzip >= 0 ? gzip : wildcard) > 0;
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            double quality = Double.parseDouble(value);
+            return quality >= 0 && quality <= 1 ? quality : 0;
+        } catch (NumberFormatException e) {
+            // A malformed weight is treated as a refusal
+            return 0;
+        }
+    }
+}
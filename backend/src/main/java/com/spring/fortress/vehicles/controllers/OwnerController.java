@@ -2,6 +2,9 @@ package com.spring.fortress.vehicles.controllers;
 
 import com.spring.fortress.vehicles.dtos.request.OwnerRequest;
 import com.spring.fortress.vehicles.dtos.response.ErrorResponse;
+import com.spring.fortress.vehicles.enums.ExportDataset;
+import com.spring.fortress.vehicles.enums.ExportFormat;
+import com.spring.fortress.vehicles.interfaces.ExportInterface;
 import com.spring.fortress.vehicles.models.Owner;
 import com.spring.fortress.vehicles.models.User;
 import com.spring.fortress.vehicles.services.OwnerService;
@@ -14,9 +17,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -35,6 +40,7 @@ import java.util.List;
 public class OwnerController {
 
     private final OwnerService ownerService;
+    private final ExportInterface exportService;
 
     /**
      * Registers a new owner.
@@ -76,6 +82,27 @@ public class OwnerController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Streams every owner with their user details as CSV or NDJSON, gzipped when the client accepts it.
+     *
+     * @param format         the format to write
+     * @param acceptEncoding the encodings the client accepts
+     * @return a streaming response
+     */
+    @Operation(summary = "Export owners",
+            description = "Streams every owner with their user details as CSV or NDJSON in ID order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Owners exported successfully"),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Exporting owners as {}", format);
+        return ExportResponses.stream(exportService, ExportDataset.OWNERS, format, acceptEncoding);
+    }
+
     /**
      * Searches for owners by a search term (e.g., email, name).
      *
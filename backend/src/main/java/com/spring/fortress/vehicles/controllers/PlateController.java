@@ -2,6 +2,9 @@ package com.spring.fortress.vehicles.controllers;
 
 import com.spring.fortress.vehicles.dtos.request.PlateRequest;
 import com.spring.fortress.vehicles.dtos.response.ErrorResponse;
+import com.spring.fortress.vehicles.enums.ExportDataset;
+import com.spring.fortress.vehicles.enums.ExportFormat;
+import com.spring.fortress.vehicles.interfaces.ExportInterface;
 import com.spring.fortress.vehicles.models.Plate;
 import com.spring.fortress.vehicles.services.PlateService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,8 +16,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -33,6 +38,7 @@ import java.util.List;
 public class PlateController {
 
     private final PlateService plateService;
+    private final ExportInterface exportService;
 
     /**
      * Registers a new license plate.
@@ -82,4 +88,24 @@ public class PlateController {
         List<Plate> p = plateService.getAll();
         return ResponseEntity.ok(p);
     }
+
+    /**
+     * Streams every plate as CSV or NDJSON, gzipped when the client accepts it.
+     *
+     * @param format         the format to write
+     * @param acceptEncoding the encodings the client accepts
+     * @return a streaming response
+     */
+    @Operation(summary = "Export plates", description = "Streams every plate as CSV or NDJSON in ID order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Plates exported successfully"),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Exporting plates as {}", format);
+        return ExportResponses.stream(exportService, ExportDataset.PLATES, format, acceptEncoding);
+    }
 }
\ No newline at end of file
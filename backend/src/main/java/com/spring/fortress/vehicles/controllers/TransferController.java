@@ -2,6 +2,9 @@ package com.spring.fortress.vehicles.controllers;
 
 import com.spring.fortress.vehicles.dtos.request.TransferRequest;
 import com.spring.fortress.vehicles.dtos.response.ErrorResponse;
+import com.spring.fortress.vehicles.enums.ExportDataset;
+import com.spring.fortress.vehicles.enums.ExportFormat;
+import com.spring.fortress.vehicles.interfaces.ExportInterface;
 import com.spring.fortress.vehicles.models.Transfer;
 import com.spring.fortress.vehicles.services.TransferService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,8 +16,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -33,6 +38,7 @@ import java.util.List;
 public class TransferController {
 
     private final TransferService transferService;
+    private final ExportInterface exportService;
 
     /**
      * Initiates a new vehicle ownership transfer.
@@ -74,6 +80,26 @@ public class TransferController {
         return ResponseEntity.ok(transfers);
     }
 
+    /**
+     * Streams every transfer as CSV or NDJSON, gzipped when the client accepts it.
+     *
+     * @param format         the format to write
+     * @param acceptEncoding the encodings the client accepts
+     * @return a streaming response
+     */
+    @Operation(summary = "Export transfers", description = "Streams every transfer as CSV or NDJSON in ID order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transfers exported successfully"),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Exporting transfers as {}", format);
+        return ExportResponses.stream(exportService, ExportDataset.TRANSFERS, format, acceptEncoding);
+    }
+
     /**
      * Retrieves the transfer history for a vehicle or owner.
      *
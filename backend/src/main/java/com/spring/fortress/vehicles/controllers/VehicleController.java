@@ -2,6 +2,12 @@ package com.spring.fortress.vehicles.controllers;
 
 import com.spring.fortress.vehicles.dtos.request.VehicleRequest;
 import com.spring.fortress.vehicles.dtos.response.ErrorResponse;
+import com.spring.fortress.vehicles.dtos.response.VehiclePage;
+import com.spring.fortress.vehicles.dtos.response.VehicleSummary;
+import com.spring.fortress.vehicles.enums.ExportDataset;
+import com.spring.fortress.vehicles.enums.ExportFormat;
+import com.spring.fortress.vehicles.enums.VehicleSort;
+import com.spring.fortress.vehicles.interfaces.ExportInterface;
 import com.spring.fortress.vehicles.models.Vehicle;
 import com.spring.fortress.vehicles.services.VehicleService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,8 +19,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -33,6 +42,7 @@ import java.util.List;
 public class VehicleController {
 
     private final VehicleService vehicleService;
+    private final ExportInterface exportService;
 
     /**
      * Registers a new vehicle with the provided details.
@@ -55,12 +65,43 @@ public class VehicleController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Retrieves a page of vehicles in the requested order.
+     *
+     * @param sort      the column to order by
+     * @param direction the direction to order in
+     * @param cursor    the cursor returned with the previous page
+     * @param size      the maximum number of vehicles to return
+     * @return a response with the page and the cursor of the next one
+     */
+    @Operation(summary = "List vehicles",
+            description = "Retrieves vehicles page by page using cursor pagination, sorted by the chosen column")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vehicles retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = VehiclePage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access")
+    })
+    @GetMapping
+    public ResponseEntity<VehiclePage> list(
+            @RequestParam(defaultValue = "ID") VehicleSort sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Listing vehicles sorted by {} {}", sort, direction);
+        return ResponseEntity.ok(vehicleService.list(sort, direction, cursor, size));
+    }
+
     /**
      * Retrieves all vehicles.
      *
      * @return a response with the list of vehicles
+     * @deprecated loads the whole table; use the paged {@code GET /vehicles} or {@code GET /vehicles/export}
      */
-    @Operation(summary = "Get all vehicles", description = "Retrieves all vehicles")
+    @Deprecated
+    @Operation(summary = "Get all vehicles", description = "Retrieves all vehicles. Prefer the paged listing or the "
+            + "export for large tables", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Vehicles retrieved successfully",
                     content = @Content(schema = @Schema(implementation = Vehicle.class))),
@@ -75,23 +116,44 @@ public class VehicleController {
     }
 
     /**
-     * Searches for vehicles by a search term (e.g., chassis number, model).
+     * Streams every vehicle as CSV or NDJSON, gzipped when the client accepts it.
+     *
+     * @param format         the format to write
+     * @param acceptEncoding the encodings the client accepts
+     * @return a streaming response
+     */
+    @Operation(summary = "Export vehicles", description = "Streams every vehicle as CSV or NDJSON in ID order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vehicles exported successfully"),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Exporting vehicles as {}", format);
+        return ExportResponses.stream(exportService, ExportDataset.VEHICLES, format, acceptEncoding);
+    }
+
+    /**
+     * Searches for vehicles by a search term (e.g., chassis number, manufacturer, model).
      *
      * @param searchTerm the term to search for
      * @return a response with the search results
      */
-    @Operation(summary = "Search vehicles", description = "Searches vehicles by chassis number or model")
+    @Operation(summary = "Search vehicles",
+            description = "Searches vehicles by chassis number, manufacturer or model, matching prefixes and typos")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Vehicles retrieved successfully",
-                    content = @Content(schema = @Schema(implementation = Vehicle.class))),
+                    content = @Content(schema = @Schema(implementation = VehicleSummary.class))),
             @ApiResponse(responseCode = "400", description = "Invalid search term",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Unauthorized access")
     })
     @GetMapping("/search/{searchTerm}")
-    public ResponseEntity<List<Vehicle>> search(@PathVariable String searchTerm) {
+    public ResponseEntity<List<VehicleSummary>> search(@PathVariable String searchTerm) {
         log.info("Searching vehicles with term: {}", searchTerm);
-        List<Vehicle> vehicles = vehicleService.search(searchTerm);
+        List<VehicleSummary> vehicles = vehicleService.search(searchTerm);
         return ResponseEntity.ok(vehicles);
     }
 
@@ -115,4 +177,4 @@ public class VehicleController {
         List<Vehicle> vehicles = vehicleService.getByOwnerId(ownerId);
         return ResponseEntity.ok(vehicles);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.spring.fortress.vehicles.dtos.request;
+
+import java.time.LocalDateTime;
+
+/**
+ * A DTO holding the filters of an audit log query. Every filter is optional.
+ *
+ * @param entityType     the simple class name of the audited entity, e.g. {@code Vehicle}
+ * @param entityId       the ID of the audited entity
+ * @param userEmail      the email of the user who performed the action
+ * @param from           the earliest creation time to include
+ * @param to             the creation time to stop before
+ * @param includeArchive whether to continue into archived months once the table has no more matching rows
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public record AuditLogQuery(
+        String entityType,
+        Long entityId,
+        String userEmail,
+        LocalDateTime from,
+        LocalDateTime to,
+        boolean includeArchive
+) {
+}
@@ -0,0 +1,16 @@
+package com.spring.fortress.vehicles.dtos.request;
+
+/**
+ * A DTO for one entry of a bulk electricity token vending request.
+ * Items are validated individually so that one bad entry does not fail the whole batch.
+ *
+ * @param meterNumber the meter number to vend for
+ * @param units       the electricity units (kWh) to vend
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public record TokenBatchItem(
+        String meterNumber,
+        Double units
+) {
+}
@@ -0,0 +1,17 @@
+package com.spring.fortress.vehicles.dtos.request;
+
+/**
+ * A DTO for one token to be issued by the token issuance pipeline.
+ *
+ * @param index       the position of the request in its batch, echoed back in the outcome
+ * @param meterNumber the meter number to vend for
+ * @param units       the electricity units (kWh) to vend
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public record TokenIssueRequest(
+        int index,
+        String meterNumber,
+        double units
+) {
+}
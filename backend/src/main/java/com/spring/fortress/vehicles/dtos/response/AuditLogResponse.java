@@ -0,0 +1,32 @@
+package com.spring.fortress.vehicles.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * A DTO describing one audit log entry.
+ *
+ * @param id         the ID of the entry
+ * @param entityType the simple class name of the audited entity
+ * @param entityId   the ID of the audited entity
+ * @param action     the action performed (CREATE or UPDATE)
+ * @param userEmail  the email of the user who performed the action
+ * @param changes    the changed properties as JSON, or {@code null} if none were recorded
+ * @param createdAt  the time the action was performed
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public record AuditLogResponse(
+        long id,
+        String entityType,
+        long entityId,
+        String action,
+        String userEmail,
+        @JsonRawValue
+        String changes,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSSSS")
+        LocalDateTime createdAt
+) {
+}
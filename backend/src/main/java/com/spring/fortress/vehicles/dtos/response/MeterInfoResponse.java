@@ -0,0 +1,27 @@
+package com.spring.fortress.vehicles.dtos.response;
+
+import com.spring.fortress.vehicles.enums.MeterStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A DTO describing an electricity meter and its current balance.
+ *
+ * @param meterNumber     the meter number
+ * @param customerName    the full name of the registered owner, if any
+ * @param currentBalance  the units currently available on the meter
+ * @param lastTopUp       the time of the last redeemed token, if any
+ * @param meterStatus     the status of the meter
+ * @param totalTokensUsed the number of tokens redeemed on the meter
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public record MeterInfoResponse(
+        String meterNumber,
+        String customerName,
+        double currentBalance,
+        LocalDateTime lastTopUp,
+        MeterStatus meterStatus,
+        long totalTokensUsed
+) {
+}
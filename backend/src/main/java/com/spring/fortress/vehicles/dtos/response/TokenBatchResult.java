@@ -0,0 +1,43 @@
+package com.spring.fortress.vehicles.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A DTO describing the outcome of one item in a bulk electricity token vending request.
+ * Results are streamed in completion order, so {@code index} ties each result back to its input item.
+ *
+ * @param index       the zero-based position of the item in the request
+ * @param success     whether a token was generated for the item
+ * @param meterNumber the meter number of the item
+ * @param units       the units of the item
+ * @param token       the generated token, if successful
+ * @param tid         the Token Identifier the token was signed with, if successful
+ * @param message     the error message, if unsuccessful
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenBatchResult(
+        int index,
+        boolean success,
+        String meterNumber,
+        Double units,
+        String token,
+        Long tid,
+        String message
+) {
+
+    /**
+     * Creates a successful result.
+     */
+    public static TokenBatchResult success(int index, String meterNumber, double units, String token, long tid) {
+        return new TokenBatchResult(index, true, meterNumber, units, token, tid, null);
+    }
+
+    /**
+     * Creates a failed result carrying an error message.
+     */
+    public static TokenBatchResult failure(int index, String meterNumber, Double units, String message) {
+        return new TokenBatchResult(index, false, meterNumber, units, null, null, message);
+    }
+}
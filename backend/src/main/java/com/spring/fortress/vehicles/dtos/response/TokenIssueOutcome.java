@@ -0,0 +1,54 @@
+package com.spring.fortress.vehicles.dtos.response;
+
+import com.spring.fortress.vehicles.dtos.request.TokenIssueRequest;
+import com.spring.fortress.vehicles.models.Token;
+
+/**
+ * A DTO for the outcome of one token issuance request.
+ * Exactly one of {@code token} and {@code error} is set.
+ *
+ * @param request the request this outcome belongs to
+ * @param token   the stored token, if the request succeeded
+ * @param error   the reason the request was rejected, if it failed
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public record TokenIssueOutcome(
+        TokenIssueRequest request,
+        Token token,
+        String error
+) {
+
+    /**
+     * Creates a successful outcome.
+     */
+    public static TokenIssueOutcome success(TokenIssueRequest request, Token token) {
+        return new TokenIssueOutcome(request, token, null);
+    }
+
+    /**
+     * Creates a failed outcome carrying an error message.
+     */
+    public static TokenIssueOutcome failure(TokenIssueRequest request, String error) {
+        return new TokenIssueOutcome(request, null, error);
+    }
+
+    /**
+     * Whether the token was issued.
+     */
+    public boolean isSuccess() {
+        return token != null;
+    }
+
+    /**
+     * Converts the outcome to the result line of a bulk vend.
+     *
+     * @return the batch result
+     */
+    public TokenBatchResult toBatchResult() {
+        return isSuccess()
+                ? TokenBatchResult.success(request.index(), request.meterNumber(), request.units(),
+                        token.getTokenValue(), token.getTid())
+                : TokenBatchResult.failure(request.index(), request.meterNumber(), request.units(), error);
+    }
+}
@@ -0,0 +1,25 @@
+package com.spring.fortress.vehicles.dtos.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * A DTO describing a successful electricity token redemption.
+ *
+ * @param token        the redeemed token
+ * @param meterNumber  the meter the token was redeemed on
+ * @param unitsAdded   the units credited to the meter
+ * @param newBalance   the meter balance after the credit
+ * @param redeemedAt   the time of redemption
+ * @param redemptionId the identifier of the redemption
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public record TokenRedemptionResponse(
+        String token,
+        String meterNumber,
+        double unitsAdded,
+        double newBalance,
+        LocalDateTime redeemedAt,
+        String redemptionId
+) {
+}
@@ -0,0 +1,17 @@
+package com.spring.fortress.vehicles.dtos.response;
+
+import java.util.List;
+
+/**
+ * A DTO holding one page of a vehicle listing.
+ *
+ * @param vehicles   the vehicles of the page
+ * @param nextCursor the cursor of the following page, or {@code null} if this is the last page
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public record VehiclePage(
+        List<VehicleSummary> vehicles,
+        String nextCursor
+) {
+}
@@ -0,0 +1,28 @@
+package com.spring.fortress.vehicles.dtos.response;
+
+/**
+ * A DTO describing one vehicle in a listing, read straight from its columns without loading the
+ * owner or plate entities.
+ *
+ * @param id               the ID of the vehicle
+ * @param chassisNumber    the chassis number of the vehicle
+ * @param manufacturer     the manufacturer of the vehicle
+ * @param manufacturedYear the year the vehicle was manufactured
+ * @param price            the price of the vehicle
+ * @param modelName        the model name of the vehicle
+ * @param ownerId          the ID of the owner, or {@code null} if none is recorded
+ * @param plateNumber      the number of the assigned plate, or {@code null} if none is assigned
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public record VehicleSummary(
+        long id,
+        String chassisNumber,
+        String manufacturer,
+        int manufacturedYear,
+        double price,
+        String modelName,
+        Long ownerId,
+        String plateNumber
+) {
+}
@@ -0,0 +1,24 @@
+package com.spring.fortress.vehicles.enums;
+
+/**
+ * Enum representing what happens to an audit event when the audit writer's queue is full.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public enum AuditBackpressure {
+    /**
+     * The committing thread waits for space, up to the configured timeout, then drops the event.
+     */
+    BLOCK,
+
+    /**
+     * The event is dropped immediately and counted.
+     */
+    DROP,
+
+    /**
+     * The committing thread writes the event itself.
+     */
+    CALLER_RUNS
+}
@@ -0,0 +1,29 @@
+package com.spring.fortress.vehicles.enums;
+
+/**
+ * Enum representing the delivery status of an email in the outbox.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public enum EmailStatus {
+    /**
+     * Email is waiting for its next delivery attempt.
+     */
+    PENDING,
+
+    /**
+     * Email is claimed by a dispatcher until its lease expires.
+     */
+    SENDING,
+
+    /**
+     * Email was accepted by the SMTP server.
+     */
+    SENT,
+
+    /**
+     * Email ran out of delivery attempts.
+     */
+    FAILED
+}
@@ -0,0 +1,29 @@
+package com.spring.fortress.vehicles.enums;
+
+/**
+ * Enum representing the tables that can be exported in bulk.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public enum ExportDataset {
+    /**
+     * Vehicles with the number of their assigned plate.
+     */
+    VEHICLES,
+
+    /**
+     * License plates.
+     */
+    PLATES,
+
+    /**
+     * Owners with their user details.
+     */
+    OWNERS,
+
+    /**
+     * Ownership transfers with the chassis number of the vehicle.
+     */
+    TRANSFERS
+}
@@ -0,0 +1,45 @@
+package com.spring.fortress.vehicles.enums;
+
+/**
+ * Enum representing the formats a bulk export can be written in.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values with a header row.
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the media type of the format.
+     *
+     * @return the media type
+     */
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns the file extension of the format.
+     *
+     * @return the file extension, without the dot
+     */
+    public String extension() {
+        return extension;
+    }
+}
@@ -0,0 +1,19 @@
+package com.spring.fortress.vehicles.enums;
+
+/**
+ * Enum representing the status of an electricity meter.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public enum MeterStatus {
+    /**
+     * Meter accepts tokens.
+     */
+    ACTIVE,
+
+    /**
+     * Meter is blocked and rejects tokens.
+     */
+    SUSPENDED
+}
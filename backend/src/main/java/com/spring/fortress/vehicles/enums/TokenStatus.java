@@ -0,0 +1,24 @@
+package com.spring.fortress.vehicles.enums;
+
+/**
+ * Enum representing the lifecycle status of an electricity token.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public enum TokenStatus {
+    /**
+     * Token has been vended and can still be redeemed.
+     */
+    ISSUED,
+
+    /**
+     * Token has been redeemed on its meter.
+     */
+    USED,
+
+    /**
+     * Token passed its expiry date without being redeemed.
+     */
+    EXPIRED
+}
@@ -0,0 +1,45 @@
+package com.spring.fortress.vehicles.enums;
+
+/**
+ * Enum representing the orders a vehicle listing can be sorted in.
+ * Ties are broken by vehicle ID, so every order is total and can be paged with a cursor.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public enum VehicleSort {
+    /**
+     * Registration order.
+     */
+    ID("v.id"),
+
+    /**
+     * Chassis number, alphabetically.
+     */
+    CHASSIS_NUMBER("v.chassis_number"),
+
+    /**
+     * Year of manufacture.
+     */
+    MANUFACTURED_YEAR("v.manufactured_year"),
+
+    /**
+     * Price.
+     */
+    PRICE("v.price");
+
+    private final String column;
+
+    VehicleSort(String column) {
+        this.column = column;
+    }
+
+    /**
+     * Returns the column the listing is ordered by.
+     *
+     * @return the qualified column name
+     */
+    public String column() {
+        return column;
+    }
+}
@@ -0,0 +1,34 @@
+package com.spring.fortress.vehicles.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a listing request carries an invalid cursor, page size or sort.
+ * Maps to HTTP 400 Bad Request status.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidQueryException extends RuntimeException {
+
+    /**
+     * Constructs a new invalid query exception with the specified message.
+     *
+     * @param message the detail message
+     */
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new invalid query exception with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the parsing failure behind it
+     */
+    public InvalidQueryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.fortress.vehicles.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a password cannot be hashed or verified because the hashing executor is saturated.
+ * Maps to HTTP 503 Service Unavailable status; the client should retry shortly.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new password hashing exception with the specified message.
+     *
+     * @param message the detail message
+     */
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.fortress.vehicles.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an electricity token cannot be redeemed because it was already used.
+ * Maps to HTTP 409 Conflict status.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TokenRedemptionException extends RuntimeException {
+
+    /**
+     * Constructs a new token redemption exception with the specified message.
+     *
+     * @param message the detail message
+     */
+    public TokenRedemptionException(String message) {
+        super(message);
+    }
+}
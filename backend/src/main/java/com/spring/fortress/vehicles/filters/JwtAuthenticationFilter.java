@@ -1,7 +1,8 @@
 package com.spring.fortress.vehicles.filters;
 
-import com.spring.fortress.vehicles.config.JwtConfig;
-import com.spring.fortress.vehicles.utils.JwtUtil;
+import com.spring.fortress.vehicles.security.JwtClaims;
+import com.spring.fortress.vehicles.security.PrincipalCache;
+import com.spring.fortress.vehicles.security.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +12,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -30,8 +30,8 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final UserDetailsService userDetailsService;
-    private final JwtConfig jwtConfig;
+    private final PrincipalCache principalCache;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     /**
      * Processes incoming HTTP requests to validate JWT tokens and authenticate users.
@@ -66,10 +66,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            if (JwtUtil.isTokenValid(token, jwtConfig.getSecretKey())) {
-                String username = JwtUtil.extractUsername(token);
+            // Verified once per token lifetime; the claims carry everything needed below
+            JwtClaims claims = verifiedTokenCache.verify(token);
+            if (claims != null) {
+                String username = claims.subject();
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UserDetails userDetails = principalCache.load(username);
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
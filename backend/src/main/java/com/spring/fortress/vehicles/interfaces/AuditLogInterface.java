@@ -0,0 +1,37 @@
+package com.spring.fortress.vehicles.interfaces;
+
+import com.spring.fortress.vehicles.dtos.request.AuditLogQuery;
+import com.spring.fortress.vehicles.dtos.response.AuditLogPage;
+import com.spring.fortress.vehicles.exceptions.InvalidQueryException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface defining audit log queries.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public interface AuditLogInterface {
+
+    /**
+     * Retrieves a page of audit log entries matching the query, newest first.
+     *
+     * @param query  the filters to apply
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param size   the maximum number of entries to return
+     * @return the page and the cursor of the next one
+     * @throws InvalidQueryException if the cursor or size is invalid
+     */
+    AuditLogPage find(AuditLogQuery query, String cursor, int size);
+
+    /**
+     * Writes every audit log entry matching the query as CSV, newest first.
+     *
+     * @param query  the filters to apply
+     * @param output the stream to write to; it is flushed but not closed
+     * @throws IOException if writing to the stream fails
+     */
+    void exportCsv(AuditLogQuery query, OutputStream output) throws IOException;
+}
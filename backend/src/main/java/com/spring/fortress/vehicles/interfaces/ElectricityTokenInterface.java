@@ -0,0 +1,68 @@
+package com.spring.fortress.vehicles.interfaces;
+
+import com.spring.fortress.vehicles.dtos.request.TokenIssueRequest;
+import com.spring.fortress.vehicles.dtos.response.MeterInfoResponse;
+import com.spring.fortress.vehicles.dtos.response.TokenIssueOutcome;
+import com.spring.fortress.vehicles.dtos.response.TokenRedemptionResponse;
+import com.spring.fortress.vehicles.models.Token;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Interface defining electricity meter and token operations.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public interface ElectricityTokenInterface {
+
+    /**
+     * Generates a token for a meter and stores it as issued.
+     * The meter is registered on its first vend.
+     *
+     * @param meterNumber the meter number
+     * @param units       the units to vend
+     * @return the stored token
+     */
+    Token issueToken(String meterNumber, double units);
+
+    /**
+     * Generates and stores tokens for a batch of requests.
+     *
+     * @param requests the requests to issue
+     * @return one outcome per request, in request order
+     */
+    List<TokenIssueOutcome> issueTokens(List<TokenIssueRequest> requests);
+
+    /**
+     * Retrieves a meter and its current balance.
+     *
+     * @param meterNumber the meter number
+     * @return the meter information
+     * @throws IllegalStateException if the meter is not found
+     */
+    MeterInfoResponse getMeterInfo(String meterNumber);
+
+    /**
+     * Redeems a token on its meter and credits the token's units to the meter balance.
+     *
+     * @param tokenValue  the token, with or without hyphens
+     * @param meterNumber the meter number
+     * @return the redemption details
+     * @throws IllegalStateException     if the meter or token is unknown, or the token has expired
+     * @throws com.spring.fortress.vehicles.exceptions.TokenRedemptionException if the token was already redeemed
+     */
+    TokenRedemptionResponse redeemToken(String tokenValue, String meterNumber);
+
+    /**
+     * Retrieves a page of a meter's token history, newest first.
+     *
+     * @param meterNumber the meter number
+     * @param page        the zero-based page index
+     * @param size        the page size
+     * @return a page of tokens
+     * @throws IllegalStateException if the meter is not found
+     */
+    Page<Token> getTokenHistory(String meterNumber, int page, int size);
+}
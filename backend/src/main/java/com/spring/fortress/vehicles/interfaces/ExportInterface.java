@@ -0,0 +1,26 @@
+package com.spring.fortress.vehicles.interfaces;
+
+import com.spring.fortress.vehicles.enums.ExportDataset;
+import com.spring.fortress.vehicles.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface defining bulk exports of registry tables.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public interface ExportInterface {
+
+    /**
+     * Writes every row of a dataset in ID order.
+     *
+     * @param dataset the dataset to export
+     * @param format  the format to write
+     * @param output  the stream to write to; it is flushed but not closed
+     * @throws IOException if writing to the stream fails
+     */
+    void export(ExportDataset dataset, ExportFormat format, OutputStream output) throws IOException;
+}
@@ -1,8 +1,13 @@
 package com.spring.fortress.vehicles.interfaces;
 
 import com.spring.fortress.vehicles.dtos.request.VehicleRequest;
+import com.spring.fortress.vehicles.dtos.response.VehiclePage;
+import com.spring.fortress.vehicles.dtos.response.VehicleSummary;
+import com.spring.fortress.vehicles.enums.VehicleSort;
+import com.spring.fortress.vehicles.exceptions.InvalidQueryException;
 import com.spring.fortress.vehicles.models.Vehicle;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -23,6 +28,18 @@ public interface VehicleInterface {
      */
     String registerVehicle(@Valid VehicleRequest request);
 
+    /**
+     * Retrieves a page of vehicles in the requested order, ties broken by vehicle ID.
+     *
+     * @param sort      the column to order by
+     * @param direction the direction to order in
+     * @param cursor    the cursor returned with the previous page, or {@code null} for the first page
+     * @param size      the maximum number of vehicles to return
+     * @return the page and the cursor of the next one
+     * @throws InvalidQueryException if the cursor or size is invalid, or the cursor belongs to another order
+     */
+    VehiclePage list(VehicleSort sort, Sort.Direction direction, String cursor, int size);
+
     /**
      * Retrieves all vehicles in the system.
      *
@@ -31,13 +48,13 @@ public interface VehicleInterface {
     List<Vehicle> getAll();
 
     /**
-     * Searches for vehicles by chassis number or model name.
+     * Searches for vehicles by chassis number, manufacturer or model name, allowing prefixes and typos.
      *
      * @param searchTerm the term to search for
-     * @return a list of matching vehicles
+     * @return the matching vehicles, best matches first
      * @throws IllegalArgumentException if the search term is invalid
      */
-    List<Vehicle> search(String searchTerm);
+    List<VehicleSummary> search(String searchTerm);
 
     /**
      * Retrieves all vehicles owned by a specific owner.
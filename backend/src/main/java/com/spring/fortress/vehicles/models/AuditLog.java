@@ -1,6 +1,7 @@
 package com.spring.fortress.vehicles.models;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -25,8 +26,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "HISTORY_TABLE", indexes = {
-        @Index(name = "idx_audit_entity", columnList = "entity_type, entity_id"),
-        @Index(name = "idx_audit_user", columnList = "user_email"),
+        @Index(name = "idx_audit_entity_date", columnList = "entity_type, entity_id, created_at"),
+        @Index(name = "idx_audit_user_date", columnList = "user_email, created_at"),
         @Index(name = "idx_audit_date", columnList = "created_at")
 })
 @Data
@@ -62,6 +63,14 @@ public class AuditLog {
     @Column(name = "user_email", nullable = false)
     private String userEmail;
 
+    /**
+     * The changed properties as JSON, compressed with {@link com.spring.fortress.vehicles.utils.AuditChangeCodec}.
+     * Holds {@code {"property": new}} for creations and {@code {"property": [old, new]}} for updates.
+     */
+    @JsonIgnore
+    @Column(name = "changes", columnDefinition = "MEDIUMBLOB")
+    private byte[] changes;
+
     /**
      * The timestamp when this audit log entry was created.
      * Automatically set to the current timestamp.
@@ -0,0 +1,96 @@
+package com.spring.fortress.vehicles.models;
+
+import com.spring.fortress.vehicles.enums.EmailStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing an email waiting to be delivered.
+ * <p>
+ * Emails are written to this table in the transaction that produces them and delivered afterwards by
+ * the outbox dispatcher, so a request never waits on SMTP and an email is sent only if its transaction
+ * commits. Rows are read and written with plain JDBC, which also keeps message bodies, including
+ * verification codes, out of the audit log.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "EMAIL_OUTBOX", indexes = {
+        @Index(name = "idx_outbox_due", columnList = "status, next_attempt_at")
+})
+public class EmailOutbox {
+    /**
+     * The unique identifier for the email.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The recipient's email address.
+     */
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    /**
+     * The email subject.
+     */
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    /**
+     * The HTML body of the email.
+     */
+    @Column(name = "body", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String body;
+
+    /**
+     * The delivery status of the email.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private EmailStatus status;
+
+    /**
+     * The number of delivery attempts made so far.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * When the email is next due; for a claimed email, when its lease expires.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * The error of the last failed attempt, if any.
+     */
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * The date and time the email was queued.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * The date and time the email was sent, if it was.
+     */
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
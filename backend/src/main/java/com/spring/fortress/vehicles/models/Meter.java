@@ -0,0 +1,86 @@
+package com.spring.fortress.vehicles.models;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.spring.fortress.vehicles.enums.MeterStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a prepaid electricity meter.
+ * <p>
+ * Meters are identified by their meter number (DRN) and carry the balance of units credited
+ * by redeemed tokens. A meter is created the first time a token is vended for its number.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "METER", indexes = {
+        @Index(name = "idx_meter_number", columnList = "meter_number", unique = true)
+})
+public class Meter {
+    /**
+     * The unique identifier for the meter.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The meter number (DRN) - must be unique.
+     */
+    @Column(name = "meter_number", nullable = false, unique = true)
+    private String meterNumber;
+
+    /**
+     * The units (kWh) currently available on the meter.
+     */
+    @Builder.Default
+    @Column(name = "balance", nullable = false)
+    private Double balance = 0.0;
+
+    /**
+     * The current status of the meter.
+     */
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private MeterStatus status = MeterStatus.ACTIVE;
+
+    /**
+     * The owner the meter is registered to, if known.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id")
+    @JsonIgnore
+    private Owner owner;
+
+    /**
+     * The date and time of the last redeemed token.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column(name = "last_top_up")
+    private LocalDateTime lastTopUp;
+
+    /**
+     * The date and time when the meter was first seen.
+     */
+    @CreationTimestamp
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
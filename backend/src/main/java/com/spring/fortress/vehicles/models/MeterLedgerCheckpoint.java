@@ -0,0 +1,47 @@
+package com.spring.fortress.vehicles.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class recording how far the meter balance ledger journal has been flushed.
+ * <p>
+ * One row exists per ledger node and shard. It is updated in the same transaction as the
+ * balance deltas it covers, so journal segments up to {@code lastSegment} are never replayed twice.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "METER_LEDGER_CHECKPOINT")
+public class MeterLedgerCheckpoint {
+    /**
+     * The ledger node and shard, formatted as {@code node/shard}.
+     */
+    @Id
+    @Column(name = "ledger_key", length = 100)
+    private String ledgerKey;
+
+    /**
+     * The highest journal segment whose deltas have been applied to the METER table.
+     */
+    @Column(name = "last_segment", nullable = false)
+    private Long lastSegment;
+
+    /**
+     * The date and time of the last flush.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
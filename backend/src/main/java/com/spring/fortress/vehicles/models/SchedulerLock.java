@@ -0,0 +1,54 @@
+package com.spring.fortress.vehicles.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a lease on a scheduled job, or on one shard of its work.
+ * <p>
+ * A node runs the job only while it holds the lease: {@code locked_until} is in the future and
+ * {@code locked_by} names the node. Times are taken from the database clock, so nodes with skewed clocks
+ * still agree on who holds a lease.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "SCHEDULER_LOCK")
+public class SchedulerLock {
+    /**
+     * The job or shard the lease covers.
+     */
+    @Id
+    @Column(name = "lock_name", length = 100)
+    private String lockName;
+
+    /**
+     * The UTC time the lease ends.
+     */
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    /**
+     * The UTC time the lease was taken.
+     */
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    /**
+     * The node holding, or last holding, the lease.
+     */
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
@@ -0,0 +1,127 @@
+package com.spring.fortress.vehicles.models;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.spring.fortress.vehicles.enums.TokenStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a vended electricity token.
+ * <p>
+ * Tokens are stored in their formatted form (XXXXX-XXXXX-XXXXX-XXXXX) together with the
+ * Token Identifier (TID) and units they were signed with, so they can be re-verified and redeemed later.
+ * History is read per meter ordered by issue time, which the unique {@code (meter_id, issued_at)} index serves;
+ * it also enforces one token per meter and TID. A token value is unique per meter, which makes the redeemed
+ * status an exact replay check. The {@code expires_at} index serves the expiry notification scan, and the
+ * {@code (credit_pending, redeemed_at)} index the ledger's reconciliation of uncredited redemptions.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "TOKEN", indexes = {
+        @Index(name = "idx_token_value", columnList = "token_value"),
+        @Index(name = "idx_token_expires", columnList = "expires_at"),
+        @Index(name = "idx_token_credit_pending", columnList = "credit_pending, redeemed_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_token_meter_issued", columnNames = {"meter_id", "issued_at"}),
+        @UniqueConstraint(name = "uk_token_meter_value", columnNames = {"meter_id", "token_value"})
+})
+public class Token {
+    /**
+     * The unique identifier for the token.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The formatted 20-digit token value.
+     */
+    @Column(name = "token_value", nullable = false, length = 23)
+    private String tokenValue;
+
+    /**
+     * The meter the token was vended for.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "meter_id", nullable = false)
+    @JsonIgnore
+    private Meter meter;
+
+    /**
+     * The electricity units (kWh) carried by the token.
+     */
+    @Column(name = "units", nullable = false)
+    private Double units;
+
+    /**
+     * The Token Identifier (seconds since 1993-01-01) the token was signed with.
+     */
+    @Column(name = "tid", nullable = false)
+    private Long tid;
+
+    /**
+     * The date and time the token was issued, derived from its TID.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column(name = "issued_at", nullable = false)
+    private LocalDateTime issuedAt;
+
+    /**
+     * The date and time after which the token can no longer be redeemed.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * The current lifecycle status of the token.
+     */
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TokenStatus status = TokenStatus.ISSUED;
+
+    /**
+     * The date and time the token was redeemed, if it was.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column(name = "redeemed_at")
+    private LocalDateTime redeemedAt;
+
+    /**
+     * Whether the token was redeemed but its units are not yet in the meter balance.
+     * Set with the redemption and cleared by the ledger flush that applies the credit.
+     */
+    @JsonIgnore
+    @Builder.Default
+    @Column(name = "credit_pending", nullable = false, columnDefinition = "BIT(1) NOT NULL DEFAULT 0")
+    private Boolean creditPending = false;
+
+    /**
+     * Returns the status as seen at {@code now}: issued tokens past their expiry report as expired.
+     *
+     * @param now the reference time
+     * @return the effective status
+     */
+    public TokenStatus effectiveStatus(LocalDateTime now) {
+        if (status == TokenStatus.ISSUED && !expiresAt.isAfter(now)) {
+            return TokenStatus.EXPIRED;
+        }
+        return status;
+    }
+}
@@ -0,0 +1,70 @@
+package com.spring.fortress.vehicles.models;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class recording electricity token usage.
+ * <p>
+ * One row is written per redemption, mirroring the {@code TOKEN_AUDIT} table the legacy
+ * {@code log_token_usage} trigger wrote to.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "TOKEN_AUDIT", indexes = {
+        @Index(name = "idx_token_audit_meter", columnList = "meter_number, used_at")
+})
+public class TokenAudit {
+    /**
+     * The unique identifier for the audit entry.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The formatted token value.
+     */
+    @Column(name = "token_value", nullable = false, length = 23)
+    private String tokenValue;
+
+    /**
+     * The meter number the token was used on.
+     */
+    @Column(name = "meter_number", nullable = false)
+    private String meterNumber;
+
+    /**
+     * The units credited by the token.
+     */
+    @Column(name = "units", nullable = false)
+    private Double units;
+
+    /**
+     * The date and time the token was used.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Column(name = "used_at", nullable = false)
+    private LocalDateTime usedAt;
+
+    /**
+     * Whether the token was accepted.
+     */
+    @Column(name = "is_valid", nullable = false)
+    private Boolean valid;
+}
@@ -0,0 +1,54 @@
+package com.spring.fortress.vehicles.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class recording how far the token expiry notification job has scanned.
+ * <p>
+ * One row exists per job. It holds the {@code (expires_at, id)} position of the last token whose owner
+ * was notified and is updated in the same transaction as the emails queued for that token, so a restart
+ * resumes after it and no owner is notified twice.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "TOKEN_NOTIFICATION_CHECKPOINT")
+public class TokenNotificationCheckpoint {
+    /**
+     * The job the checkpoint belongs to.
+     */
+    @Id
+    @Column(name = "job_key", length = 100)
+    private String jobKey;
+
+    /**
+     * The expiry time of the last notified token.
+     */
+    @Column(name = "last_expires_at", nullable = false)
+    private LocalDateTime lastExpiresAt;
+
+    /**
+     * The ID of the last notified token, breaking ties between tokens with the same expiry time.
+     */
+    @Column(name = "last_token_id", nullable = false)
+    private Long lastTokenId;
+
+    /**
+     * The date and time of the last update.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
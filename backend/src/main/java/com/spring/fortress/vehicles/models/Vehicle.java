@@ -26,7 +26,10 @@ import java.time.Year;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+        @Index(name = "idx_vehicle_manufactured_year", columnList = "manufactured_year"),
+        @Index(name = "idx_vehicle_price", columnList = "price")
+})
 public class Vehicle {
     /**
      * The unique identifier for the vehicle.
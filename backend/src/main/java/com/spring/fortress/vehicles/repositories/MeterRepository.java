@@ -0,0 +1,37 @@
+package com.spring.fortress.vehicles.repositories;
+
+import com.spring.fortress.vehicles.models.Meter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link Meter} entities.
+ * Provides lookups by meter number; balance changes are written by the meter balance ledger.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Repository
+public interface MeterRepository extends JpaRepository<Meter, Long> {
+
+    /**
+     * Finds a meter by its meter number.
+     *
+     * @param meterNumber the meter number to search for
+     * @return an optional containing the meter, or empty if not found
+     */
+    Optional<Meter> findByMeterNumber(String meterNumber);
+
+    /**
+     * Reads the balance of a meter as last flushed by the meter balance ledger.
+     *
+     * @param meterId the ID of the meter
+     * @return the balance
+     */
+    @Query("SELECT m.balance FROM Meter m WHERE m.id = :meterId")
+    Double findBalanceById(@Param("meterId") Long meterId);
+}
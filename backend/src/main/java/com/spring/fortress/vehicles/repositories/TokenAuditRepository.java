@@ -0,0 +1,15 @@
+package com.spring.fortress.vehicles.repositories;
+
+import com.spring.fortress.vehicles.models.TokenAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing {@link TokenAudit} entities.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Repository
+public interface TokenAuditRepository extends JpaRepository<TokenAudit, Long> {
+}
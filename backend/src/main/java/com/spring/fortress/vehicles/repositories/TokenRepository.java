@@ -0,0 +1,67 @@
+package com.spring.fortress.vehicles.repositories;
+
+import com.spring.fortress.vehicles.enums.TokenStatus;
+import com.spring.fortress.vehicles.models.Token;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link Token} entities.
+ * Provides per-meter lookups and conditional status transitions for electricity tokens.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Repository
+public interface TokenRepository extends JpaRepository<Token, Long> {
+
+    /**
+     * Finds a token vended for a specific meter.
+     *
+     * @param meterId    the ID of the meter
+     * @param tokenValue the formatted token value
+     * @return an optional containing the token, or empty if not found
+     */
+    Optional<Token> findByMeterIdAndTokenValue(Long meterId, String tokenValue);
+
+    /**
+     * Retrieves a page of a meter's tokens, newest first.
+     *
+     * @param meterId  the ID of the meter
+     * @param pageable the page to read
+     * @return a page of tokens
+     */
+    Page<Token> findByMeterIdOrderByIssuedAtDesc(Long meterId, Pageable pageable);
+
+    /**
+     * Counts a meter's tokens in the given status.
+     *
+     * @param meterId the ID of the meter
+     * @param status  the status to count
+     * @return the number of tokens
+     */
+    long countByMeterIdAndStatus(Long meterId, TokenStatus status);
+
+    /**
+     * Marks an issued token as used, with its credit pending in the meter balance ledger. The status
+     * condition makes concurrent redemptions of the same token race on a single row update, so at most
+     * one of them succeeds.
+     *
+     * @param tokenId    the ID of the token
+     * @param redeemedAt the time of redemption
+     * @return 1 if the token was redeemed, 0 if it was no longer in the ISSUED state
+     */
+    @Modifying
+    @Query("UPDATE Token t SET t.status = com.spring.fortress.vehicles.enums.TokenStatus.USED, " +
+            "t.redeemedAt = :redeemedAt, t.creditPending = true " +
+            "WHERE t.id = :tokenId AND t.status = com.spring.fortress.vehicles.enums.TokenStatus.ISSUED")
+    int markRedeemed(@Param("tokenId") Long tokenId, @Param("redeemedAt") LocalDateTime redeemedAt);
+}
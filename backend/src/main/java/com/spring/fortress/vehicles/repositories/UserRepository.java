@@ -2,7 +2,11 @@ package com.spring.fortress.vehicles.repositories;
 
 import com.spring.fortress.vehicles.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -31,4 +35,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user exists, false otherwise
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Replaces a password hash with one made under the current hashing policy. The condition on the
+     * old hash keeps a rehash from overwriting a password that was changed in the meantime.
+     *
+     * @param userId      the ID of the user
+     * @param currentHash the hash the password was verified against
+     * @param newHash     the new hash of the same password
+     * @return 1 if the hash was replaced, 0 if the stored hash had already changed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :userId AND u.password = :currentHash")
+    int rehashPassword(@Param("userId") Long userId,
+                       @Param("currentHash") String currentHash,
+                       @Param("newHash") String newHash);
+}
@@ -31,12 +31,4 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
      * @return a list of vehicles owned by the owner
      */
     List<Vehicle> findByOwnerId(Long ownerId);
-
-    /**
-     * Searches for vehicles by chassis number or model name (case-insensitive).
-     *
-     * @param searchTerm the term to search for
-     * @return a list of matching vehicles
-     */
-    List<Vehicle> findByChassisNumberContainingIgnoreCaseOrModelNameContainingIgnoreCase(String searchTerm, String searchTerm2);
 }
\ No newline at end of file
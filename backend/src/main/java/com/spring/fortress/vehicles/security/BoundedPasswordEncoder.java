@@ -0,0 +1,162 @@
+package com.spring.fortress.vehicles.security;
+
+import com.spring.fortress.vehicles.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Password encoder that runs a memory-hard delegate on a dedicated, bounded executor.
+ * <p>
+ * Every Argon2 hash or verification allocates its full memory cost on the heap, so the number running at
+ * once, not the number of requests, decides how much memory logins take. This encoder runs them on a fixed
+ * pool sized to fit {@code memoryFraction} of the maximum heap and no more threads than cores, behind a
+ * queue of {@code queueCapacity}. When the queue is full, or a caller has waited {@code maxWaitMs}, the call
+ * fails at once with {@link PasswordHashingUnavailableException}, which the API answers with 503 and
+ * {@code Retry-After}, instead of piling up more work than the pool can finish.
+ * </p>
+ * <p>
+ * Published metrics: {@code security.password.hash} (time spent hashing, tagged by operation),
+ * {@code security.password.hash.wait} (time spent queued), {@code security.password.hash.queue} and
+ * {@code security.password.hash.active} (current queue depth and running hashes) and
+ * {@code security.password.hash.rejected} (calls shed).
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String UNAVAILABLE_MESSAGE = "Too many sign-ins in progress, please retry shortly";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    /**
+     * Creates the encoder and its executor.
+     *
+     * @param delegate        the memory-hard encoder to run
+     * @param memoryPerHashKb the memory one hash allocates, in KiB
+     * @param memoryFraction  the share of the maximum heap all running hashes may use together
+     * @param maxThreads      an upper bound on the pool size, or 0 for the number of cores
+     * @param queueCapacity   the number of calls that may wait for a thread
+     * @param maxWaitMs       how long a caller waits for its result before giving up
+     * @param meterRegistry   the registry to publish metrics to
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  int memoryPerHashKb,
+                                  double memoryFraction,
+                                  int maxThreads,
+                                  int queueCapacity,
+                                  long maxWaitMs,
+                                  MeterRegistry meterRegistry) {
+        if (queueCapacity < 0 || maxWaitMs < 1 || !(memoryFraction > 0 && memoryFraction <= 1)) {
+            throw new IllegalArgumentException("Invalid password hashing limits");
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        long memoryBudget = (long) (Runtime.getRuntime().maxMemory() * memoryFraction);
+        int byMemory = (int) Math.max(1, memoryBudget / (memoryPerHashKb * 1024L));
+        int threads = Math.min(maxThreads > 0 ? maxThreads : cores, byMemory);
+
+        this.delegate = delegate;
+        this.maxWaitMs = maxWaitMs;
+        BlockingQueue<Runnable> queue = queueCapacity == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue,
+                Thread.ofPlatform().name("password-hash-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("security.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("security.password.hash").tag("operation", "matches").register(meterRegistry);
+        this.waitTimer = Timer.builder("security.password.hash.wait").register(meterRegistry);
+        this.rejected = Counter.builder("security.password.hash.rejected").register(meterRegistry);
+        Gauge.builder("security.password.hash.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("security.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("Password hashing pool initialized with {} threads ({} by memory, {} cores) and queue {}",
+                threads, byMemory, cores, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the pool; called by Spring when the context closes.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue full, shedding request");
+            throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Frees the queue slot if the task has not started; a running hash finishes on its own
+            future.cancel(false);
+            executor.purge();
+            rejected.increment();
+            log.warn("Password hashing did not complete within {} ms, shedding request", maxWaitMs);
+            throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            executor.purge();
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
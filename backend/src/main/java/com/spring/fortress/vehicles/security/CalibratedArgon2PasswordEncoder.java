@@ -0,0 +1,168 @@
+package com.spring.fortress.vehicles.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Argon2id password encoder whose cost parameters are the application's password policy.
+ * <p>
+ * {@link #calibrate} measures Argon2 on the machine at startup and picks the largest memory cost up to
+ * {@code maxMemoryKb} at which at least {@value #MIN_ITERATIONS} passes still fit the target verify latency,
+ * then as many passes as that target allows. Memory is halved, down to {@code minMemoryKb}, only when even
+ * {@value #MIN_ITERATIONS} passes are too slow; below that floor the minimum cost is used anyway and a
+ * warning is logged. {@link #pinned} skips the measurement, for clusters where every node must produce the
+ * same hashes.
+ * </p>
+ * <p>
+ * Hashes from any earlier policy still verify, since Argon2 stores its parameters in the hash itself.
+ * {@link #upgradeEncoding} reports hashes of another type, lane count or length, and hashes whose cost
+ * (memory times passes) is more than {@value #COST_TOLERANCE} times below or above the policy's, so callers
+ * holding the raw password can rehash it. The band keeps nodes, or restarts, that calibrate a pass more or
+ * less from rehashing the same passwords back and forth, while a real policy change still takes effect.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Slf4j
+public class CalibratedArgon2PasswordEncoder implements PasswordEncoder {
+
+    static final int SALT_LENGTH = 16;
+    static final int HASH_LENGTH = 32;
+    static final int MIN_ITERATIONS = 2;
+    static final int MAX_ITERATIONS = 10;
+
+    private static final String PREFIX = "$argon2id$v=19$";
+    private static final int MEASURED_RUNS = 3;
+    private static final double COST_TOLERANCE = 1.5;
+
+    private final int memoryKb;
+    private final int iterations;
+    private final int parallelism;
+    private final Argon2PasswordEncoder delegate;
+
+    private CalibratedArgon2PasswordEncoder(int memoryKb, int iterations, int parallelism) {
+        this.memoryKb = memoryKb;
+        this.iterations = iterations;
+        this.parallelism = parallelism;
+        this.delegate = new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, parallelism, memoryKb, iterations);
+    }
+
+    /**
+     * Creates an encoder with fixed parameters.
+     *
+     * @param memoryKb    the memory cost in KiB
+     * @param iterations  the number of passes over memory
+     * @param parallelism the number of lanes
+     * @return the encoder
+     */
+    public static CalibratedArgon2PasswordEncoder pinned(int memoryKb, int iterations, int parallelism) {
+        if (memoryKb < 8 * parallelism || iterations < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Invalid Argon2 parameters");
+        }
+        log.info("Argon2 policy pinned to memory={} KiB, iterations={}, parallelism={}",
+                memoryKb, iterations, parallelism);
+        return new CalibratedArgon2PasswordEncoder(memoryKb, iterations, parallelism);
+    }
+
+    /**
+     * Measures Argon2 on this machine and creates an encoder whose verify takes about {@code targetMs}.
+     *
+     * @param targetMs    the verify latency to aim for, in milliseconds
+     * @param maxMemoryKb the memory budget of one hash, in KiB
+     * @param minMemoryKb the lowest memory cost to fall back to, in KiB
+     * @param parallelism the number of lanes
+     * @return the encoder
+     */
+    public static CalibratedArgon2PasswordEncoder calibrate(long targetMs, int maxMemoryKb, int minMemoryKb,
+                                                            int parallelism) {
+        if (targetMs < 1 || minMemoryKb < 8 * parallelism || maxMemoryKb < minMemoryKb || parallelism < 1) {
+            throw new IllegalArgumentException("Invalid Argon2 calibration limits");
+        }
+        int memoryKb = maxMemoryKb;
+        while (true) {
+            double passMs = measurePass(memoryKb, parallelism);
+            int iterations = (int) Math.min(MAX_ITERATIONS, targetMs / passMs);
+            if (iterations >= MIN_ITERATIONS) {
+                log.info("Argon2 calibrated to memory={} KiB, iterations={}, parallelism={} "
+                                + "({} ms per pass, target {} ms)",
+                        memoryKb, iterations, parallelism, Math.round(passMs), targetMs);
+                return new CalibratedArgon2PasswordEncoder(memoryKb, iterations, parallelism);
+            }
+            if (memoryKb == minMemoryKb) {
+                log.warn("Argon2 minimum cost (memory={} KiB, iterations={}) takes about {} ms, above the {} ms target",
+                        memoryKb, MIN_ITERATIONS, Math.round(passMs * MIN_ITERATIONS), targetMs);
+                return new CalibratedArgon2PasswordEncoder(memoryKb, MIN_ITERATIONS, parallelism);
+            }
+            memoryKb = Math.max(minMemoryKb, memoryKb / 2);
+        }
+    }
+
+    /**
+     * Returns the median time of one pass over {@code memoryKb}, after a warm-up run.
+     */
+    private static double measurePass(int memoryKb, int parallelism) {
+        Argon2PasswordEncoder probe = new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, parallelism, memoryKb, 1);
+        probe.encode("calibration");
+        long[] runs = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            runs[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(runs);
+        return Math.max(runs[MEASURED_RUNS / 2] / 1e6, 0.1);
+    }
+
+    /**
+     * Returns the memory one hash allocates under this policy, in KiB.
+     */
+    public int memoryKb() {
+        return memoryKb;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * Tells whether a stored hash was made with parameters outside the current policy's tolerance band.
+     *
+     * @param encodedPassword the stored hash
+     * @return {@code true} if the hash should be replaced on the next successful login
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith(PREFIX)) {
+            return encodedPassword != null && !encodedPassword.isEmpty();
+        }
+        // $argon2id$v=19$m=<memory>,t=<iterations>,p=<parallelism>$<salt>$<hash>
+        String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return true;
+        }
+        try {
+            String[] params = parts[0].split(",");
+            if (params.length != 3 || !params[0].startsWith("m=") || !params[1].startsWith("t=")
+                    || !params[2].equals("p=" + parallelism)
+                    || Base64.getDecoder().decode(parts[2]).length != HASH_LENGTH) {
+                return true;
+            }
+            double cost = (double) Integer.parseInt(params[0].substring(2)) * Integer.parseInt(params[1].substring(2));
+            double policyCost = (double) memoryKb * iterations;
+            return cost * COST_TOLERANCE < policyCost || cost > policyCost * COST_TOLERANCE;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+}
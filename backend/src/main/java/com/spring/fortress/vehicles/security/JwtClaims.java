@@ -0,0 +1,29 @@
+package com.spring.fortress.vehicles.security;
+
+/**
+ * The claims of a JWT whose signature and expiry have been verified.
+ * <p>
+ * Produced once per request by {@link com.spring.fortress.vehicles.utils.JwtUtil#verify(String, String)},
+ * so callers read the subject and timestamps without decoding the token again.
+ * </p>
+ *
+ * @param subject   the {@code sub} claim (the user's email), or {@code null} if absent
+ * @param issuer    the {@code iss} claim, or {@code null} if absent
+ * @param issuedAt  the {@code iat} claim in epoch seconds, or 0 if absent
+ * @param expiresAt the {@code exp} claim in epoch seconds
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+public record JwtClaims(String subject, String issuer, long issuedAt, long expiresAt) {
+
+    /**
+     * Checks whether the token has expired at the given time.
+     *
+     * @param epochSecond the current time in epoch seconds
+     * @return {@code true} if {@code exp} is at or before {@code epochSecond}
+     */
+    public boolean isExpiredAt(long epochSecond) {
+        return expiresAt <= epochSecond;
+    }
+}
@@ -0,0 +1,81 @@
+package com.spring.fortress.vehicles.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Cache of authenticated principals in front of {@link UserDetailsServiceImpl}.
+ * <p>
+ * Requests carrying a valid JWT resolve their principal here instead of querying the USER table on every
+ * call. Entries expire after a fixed time-to-live and the cache is bounded by size; hit, miss and eviction
+ * counts are published to Micrometer as {@code cache.*} metrics tagged {@code cache=principals}.
+ * Changes to a user's role, status or password must call {@link #invalidate(String)}.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(UserDetailsService userDetailsService,
+                          MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+        log.info("Principal cache initialized with max size {} and TTL {}s", maxSize, ttlSeconds);
+    }
+
+    /**
+     * Returns the principal for a user, loading it on a miss.
+     *
+     * @param email the user's email address
+     * @return the user's principal
+     * @throws UsernameNotFoundException if no user exists with the given email; misses are not cached
+     */
+    public UserDetails load(String email) {
+        return principals.get(email, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Drops a user's cached principal. When called inside a transaction, the entry is dropped again
+     * after commit, so a request that reloads it before the change is visible cannot keep it stale.
+     *
+     * @param email the user's email address
+     */
+    public void invalidate(String email) {
+        principals.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(email);
+                }
+            });
+        }
+        log.debug("Invalidated cached principal for: {}", email);
+    }
+}
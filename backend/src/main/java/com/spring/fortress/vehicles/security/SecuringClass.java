@@ -1,14 +1,18 @@
 package com.spring.fortress.vehicles.security;
 
 import com.spring.fortress.vehicles.filters.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -24,9 +28,7 @@ public class SecuringClass {
     private static final String[] WHITE_LIST = {
             "/auth/**",
             "/utility/**",
-            "/actuator/metrics",
             "/actuator/health",
-            "/actuator/metrics/**",
             "/v2/api-docs",
             "/v3/api-docs",
             "/v3/api-docs/**",
@@ -40,6 +42,9 @@ public class SecuringClass {
     };
 
     private static final String[] ADMIN_WHITELIST = {
+            "/actuator/metrics",
+            "/actuator/metrics/**",
+            "/audit-logs/**",
             "/owners/**",
             "/plates/**",
             "/transfers/**",
@@ -47,20 +52,36 @@ public class SecuringClass {
     };
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        // Configure Argon2 with secure parameters
-        return new Argon2PasswordEncoder(
-                16,
-                8,
-                2,
-                65536,
-                4
-        );
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.argon2.target-ms:250}") long targetMs,
+                                           @Value("${security.argon2.max-memory-kb:65536}") int maxMemoryKb,
+                                           @Value("${security.argon2.min-memory-kb:19456}") int minMemoryKb,
+                                           @Value("${security.argon2.parallelism:1}") int parallelism,
+                                           @Value("${security.argon2.memory-kb:0}") int memoryKb,
+                                           @Value("${security.argon2.iterations:0}") int iterations,
+                                           @Value("${security.password-hashing.memory-fraction:0.25}") double memoryFraction,
+                                           @Value("${security.password-hashing.max-threads:0}") int maxThreads,
+                                           @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.password-hashing.max-wait-ms:5000}") long maxWaitMs) {
+        // Nodes calibrating on different hardware would keep rehashing each other's hashes, so allow pinning
+        CalibratedArgon2PasswordEncoder argon2 = memoryKb > 0 && iterations > 0
+                ? CalibratedArgon2PasswordEncoder.pinned(memoryKb, iterations, parallelism)
+                : CalibratedArgon2PasswordEncoder.calibrate(targetMs, maxMemoryKb, minMemoryKb, parallelism);
+        // Each hash allocates the policy's memory cost, so only a bounded pool may run them
+        return new BoundedPasswordEncoder(argon2, argon2.memoryKb(), memoryFraction, maxThreads, queueCapacity,
+                maxWaitMs, meterRegistry);
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService,
+                                                       PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        // Check account status after the password, so a wrong password never reveals whether an account is active
+        provider.setPreAuthenticationChecks(user -> { });
+        provider.setPostAuthenticationChecks(new AccountStatusUserDetailsChecker());
+        return new ProviderManager(provider);
     }
 
 //    // Temporary in-memory user store for testing
@@ -75,7 +96,7 @@ public class SecuringClass {
 //    }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthFilter, UserDetailsServiceImpl userDetailsService) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthFilter, AuthenticationManager authenticationManager) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
@@ -85,7 +106,7 @@ public class SecuringClass {
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .userDetailsService(userDetailsService)
+                .authenticationManager(authenticationManager)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -0,0 +1,131 @@
+package com.spring.fortress.vehicles.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.spring.fortress.vehicles.config.JwtConfig;
+import com.spring.fortress.vehicles.utils.BoundedPool;
+import com.spring.fortress.vehicles.utils.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of already-verified JWTs, so a bearer token reused across requests is verified only once.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token, so raw bearer tokens are never held in memory,
+ * and hold the {@link JwtClaims} produced by {@link JwtUtil#verify(String, String)}. Each entry expires at
+ * its token's own {@code exp}; the cache is additionally bounded by size with least-recently-used eviction.
+ * Tokens that fail verification are never cached.
+ * </p>
+ * <p>
+ * Roles are not part of the cached claims: tokens do not carry them, and they are resolved from the
+ * principal through {@link PrincipalCache}, which is invalidated when a role changes.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private static final BoundedPool<MessageDigest> SHA_256 = BoundedPool.perProcessor(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final JwtConfig jwtConfig;
+    private final Cache<TokenDigest, JwtClaims> verified;
+
+    public VerifiedTokenCache(JwtConfig jwtConfig,
+                              MeterRegistry meterRegistry,
+                              @Value("${security.token-cache.max-size:50000}") long maxSize) {
+        this.jwtConfig = jwtConfig;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified-tokens");
+        log.info("Verified token cache initialized with max size {}", maxSize);
+    }
+
+    /**
+     * Returns the claims of a valid token, verifying it only if it has not been seen before.
+     *
+     * @param token the JWT token
+     * @return the verified claims, or {@code null} if the token is malformed, forged or expired
+     */
+    public JwtClaims verify(String token) {
+        TokenDigest key = TokenDigest.of(token);
+        JwtClaims claims = verified.getIfPresent(key);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = JwtUtil.verify(token, jwtConfig.getSecretKey());
+        if (claims != null) {
+            verified.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * SHA-256 digest of a token as four longs, giving a compact key with cheap equality and hashing.
+     */
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        private static TokenDigest of(String token) {
+            byte[] hash;
+            MessageDigest digest = SHA_256.acquire();
+            try {
+                hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            } finally {
+                SHA_256.release(digest);
+            }
+            return new TokenDigest(readLong(hash, 0), readLong(hash, 8), readLong(hash, 16), readLong(hash, 24));
+        }
+
+        private static long readLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + 8; i++) {
+                value = (value << 8) | (bytes[i] & 0xFF);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Expires each entry at the {@code exp} claim of its token.
+     */
+    private static final class ExpireAtTokenExpiry implements Expiry<TokenDigest, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, JwtClaims claims, long currentTime) {
+            long remainingMillis = claims.expiresAt() * 1000 - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
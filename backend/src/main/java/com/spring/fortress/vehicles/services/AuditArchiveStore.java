@@ -0,0 +1,187 @@
+package com.spring.fortress.vehicles.services;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.spring.fortress.vehicles.dtos.response.AuditLogResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressed files holding audit log months that were moved out of the HISTORY table.
+ * <p>
+ * Each archived month is one gzip-compressed NDJSON file, written newest first so a reader looking for the
+ * most recent entries can stop early. Files are written under a temporary name and moved into place once
+ * complete, so a month is either fully archived or not archived at all.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class AuditArchiveStore {
+
+    private static final String FILE_PREFIX = "history-";
+    private static final String FILE_SUFFIX = ".ndjson.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter entryWriter;
+    private final Path archiveDir;
+
+    public AuditArchiveStore(ObjectMapper objectMapper,
+                             @Value("${audit.archive.dir:data/audit-archive}") String archiveDir) {
+        this.objectMapper = objectMapper;
+        this.entryWriter = objectMapper.writerFor(ArchivedEntry.class);
+        this.archiveDir = Paths.get(archiveDir);
+    }
+
+    /**
+     * One archived audit entry. Unlike {@link AuditLogResponse}, the change-set is kept as an escaped string.
+     */
+    record ArchivedEntry(long id, String entityType, long entityId, String action, String userEmail,
+                         String changes, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Lists the archived months.
+     *
+     * @return the archived months, newest first
+     * @throws IOException if the archive directory cannot be read
+     */
+    public List<YearMonth> months() throws IOException {
+        List<YearMonth> months = new ArrayList<>();
+        if (!Files.isDirectory(archiveDir)) {
+            return months;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(archiveDir, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    months.add(YearMonth.parse(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+                } catch (DateTimeParseException e) {
+                    log.warn("Ignoring unexpected file {} in audit archive", file);
+                }
+            }
+        }
+        months.sort(Comparator.reverseOrder());
+        return months;
+    }
+
+    /**
+     * Reads the entries of an archived month, newest first, until the visitor asks to stop.
+     *
+     * @param month   the archived month
+     * @param visitor called for each entry; returns {@code false} to stop reading
+     * @return {@code false} if the visitor stopped the scan
+     * @throws IOException if the archive file cannot be read
+     */
+    public boolean scan(YearMonth month, Predicate<AuditLogResponse> visitor) throws IOException {
+        try (InputStream input = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(fileFor(month))));
+             MappingIterator<ArchivedEntry> entries = objectMapper.readerFor(ArchivedEntry.class).readValues(input)) {
+            while (entries.hasNextValue()) {
+                ArchivedEntry entry = entries.nextValue();
+                if (!visitor.test(new AuditLogResponse(entry.id(), entry.entityType(), entry.entityId(),
+                        entry.action(), entry.userEmail(), entry.changes(), entry.createdAt()))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Opens a writer for a month. Entries must be appended newest first.
+     * Nothing becomes visible until {@link MonthWriter#commit()} is called.
+     *
+     * @param month the month to archive
+     * @return the writer
+     * @throws IOException if the archive file cannot be created
+     */
+    public MonthWriter open(YearMonth month) throws IOException {
+        Files.createDirectories(archiveDir);
+        return new MonthWriter(fileFor(month));
+    }
+
+    private Path fileFor(YearMonth month) {
+        return archiveDir.resolve(FILE_PREFIX + month + FILE_SUFFIX);
+    }
+
+    /**
+     * Writes one archived month to a temporary file and moves it into place on commit.
+     */
+    public final class MonthWriter implements Closeable {
+        private final Path target;
+        private final Path temp;
+        private final OutputStream output;
+        private long entries;
+        private boolean committed;
+
+        private MonthWriter(Path target) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+            this.output = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)));
+        }
+
+        /**
+         * Appends an entry.
+         *
+         * @param entry the entry to append
+         * @throws IOException if the entry cannot be written
+         */
+        public void append(AuditLogResponse entry) throws IOException {
+            output.write(entryWriter.writeValueAsBytes(new ArchivedEntry(entry.id(), entry.entityType(),
+                    entry.entityId(), entry.action(), entry.userEmail(), entry.changes(), entry.createdAt())));
+            output.write('\n');
+            entries++;
+        }
+
+        /**
+         * Completes the file and makes the month visible to readers.
+         *
+         * @return the number of entries written
+         * @throws IOException if the file cannot be completed
+         */
+        public long commit() throws IOException {
+            output.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            log.info("Archived {} audit entries to {}", entries, target.toAbsolutePath());
+            return entries;
+        }
+
+        /**
+         * Discards the file unless it was committed.
+         */
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                output.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.spring.fortress.vehicles.services;
+
+import com.spring.fortress.vehicles.dtos.request.AuditLogQuery;
+import com.spring.fortress.vehicles.dtos.response.AuditLogPage;
+import com.spring.fortress.vehicles.dtos.response.AuditLogResponse;
+import com.spring.fortress.vehicles.exceptions.InvalidQueryException;
+import com.spring.fortress.vehicles.interfaces.AuditLogInterface;
+import com.spring.fortress.vehicles.utils.AuditChangeCodec;
+import com.spring.fortress.vehicles.utils.CsvFields;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Service for querying the audit log in the HISTORY table.
+ * <p>
+ * Pages are read with keyset pagination over {@code (created_at, id)}, newest first: the cursor carries the
+ * position of the last entry returned and the next page seeks past it, so a deep page costs the same as the
+ * first one. The filters line up with the table's indexes on {@code (entity_type, entity_id, created_at)},
+ * {@code (user_email, created_at)} and {@code created_at}. Exports stream rows from MySQL straight to the
+ * response instead of loading them into memory.
+ * </p>
+ * <p>
+ * Months that were moved to the {@link AuditArchiveStore} are older than every row left in the table. A query
+ * that opts in with {@code includeArchive} continues into the archive, newest month first, once the table has
+ * no more matching rows; only archived months overlapping its time range are decompressed.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class AuditLogService implements AuditLogInterface {
+
+    private static final String SELECT_AUDIT_SQL =
+            "SELECT id, entity_type, entity_id, action, user_email, changes, created_at FROM HISTORY_TABLE";
+    private static final String ORDER_BY_SQL = " ORDER BY created_at DESC, id DESC";
+
+    private static final String CSV_HEADER = "id,created_at,entity_type,entity_id,action,user_email,changes";
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private static final RowMapper<AuditLogResponse> ROW_MAPPER = (rs, rowNum) -> new AuditLogResponse(
+            rs.getLong("id"),
+            rs.getString("entity_type"),
+            rs.getLong("entity_id"),
+            rs.getString("action"),
+            rs.getString("user_email"),
+            AuditChangeCodec.decompress(rs.getBytes("changes")),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final AuditArchiveStore archiveStore;
+    private final int maxPageSize;
+
+    public AuditLogService(JdbcTemplate jdbcTemplate,
+                           AuditArchiveStore archiveStore,
+                           @Value("${audit.query.max-page-size:500}") int maxPageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveStore = archiveStore;
+        // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the whole result
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * The position of an entry in the {@code created_at DESC, id DESC} order.
+     */
+    private record Position(LocalDateTime createdAt, long id) {
+    }
+
+    @Override
+    public AuditLogPage find(AuditLogQuery query, String cursor, int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidQueryException("Page size must be between 1 and " + maxPageSize);
+        }
+        Position seek = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_AUDIT_SQL);
+        appendFilters(sql, args, query, seek);
+        sql.append(ORDER_BY_SQL).append(" LIMIT ?");
+        // One extra row tells whether another page follows
+        args.add(size + 1);
+
+        List<AuditLogResponse> entries = new ArrayList<>(jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray()));
+        if (query.includeArchive() && entries.size() <= size) {
+            scanArchive(query, seek, entry -> {
+                entries.add(entry);
+                return entries.size() <= size;
+            });
+        }
+        String nextCursor = null;
+        List<AuditLogResponse> page = entries;
+        if (entries.size() > size) {
+            page = entries.subList(0, size);
+            AuditLogResponse last = page.get(size - 1);
+            nextCursor = encodeCursor(last.createdAt(), last.id());
+        }
+        log.debug("Retrieved {} audit entries", page.size());
+        return new AuditLogPage(page, nextCursor);
+    }
+
+    @Override
+    public void exportCsv(AuditLogQuery query, OutputStream output) throws IOException {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_AUDIT_SQL);
+        appendFilters(sql, args, query, null);
+        sql.append(ORDER_BY_SQL);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long[] rows = {0};
+        try {
+            streamingJdbcTemplate.query(sql.toString(), rs -> {
+                AuditLogResponse entry = ROW_MAPPER.mapRow(rs, 0);
+                try {
+                    writeCsvRow(writer, entry);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, args.toArray());
+            if (query.includeArchive()) {
+                scanArchive(query, null, entry -> {
+                    try {
+                        writeCsvRow(writer, entry);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                    return true;
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} audit entries as CSV", rows[0]);
+    }
+
+    /**
+     * Feeds the archived entries matching the query to the visitor, newest first, until it asks to stop.
+     * Archived months outside the query's time range or past the seek position are not read.
+     */
+    private void scanArchive(AuditLogQuery query, Position seek, Predicate<AuditLogResponse> visitor) {
+        try {
+            for (YearMonth month : archiveStore.months()) {
+                if (query.from() != null && !month.plusMonths(1).atDay(1).atStartOfDay().isAfter(query.from())) {
+                    return;
+                }
+                LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+                if ((query.to() != null && !monthStart.isBefore(query.to()))
+                        || (seek != null && monthStart.isAfter(seek.createdAt()))) {
+                    continue;
+                }
+                boolean more = archiveStore.scan(month, entry -> !matches(query, seek, entry) || visitor.test(entry));
+                if (!more) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the audit archive", e);
+        }
+    }
+
+    /**
+     * Applies the same filters as {@link #appendFilters} to an archived entry.
+     * Text comparisons ignore case like the table's collation.
+     */
+    private static boolean matches(AuditLogQuery query, Position seek, AuditLogResponse entry) {
+        if (query.entityType() != null && !query.entityType().isBlank()
+                && !query.entityType().equalsIgnoreCase(entry.entityType())) {
+            return false;
+        }
+        if (query.entityId() != null && query.entityId() != entry.entityId()) {
+            return false;
+        }
+        if (query.userEmail() != null && !query.userEmail().isBlank()
+                && !query.userEmail().equalsIgnoreCase(entry.userEmail())) {
+            return false;
+        }
+        if (query.from() != null && entry.createdAt().isBefore(query.from())) {
+            return false;
+        }
+        if (query.to() != null && !entry.createdAt().isBefore(query.to())) {
+            return false;
+        }
+        if (seek != null) {
+            int order = entry.createdAt().compareTo(seek.createdAt());
+            return order < 0 || (order == 0 && entry.id() < seek.id());
+        }
+        return true;
+    }
+
+    private void appendFilters(StringBuilder sql, List<Object> args, AuditLogQuery query, Position seek) {
+        List<String> conditions = new ArrayList<>();
+        if (query.entityType() != null && !query.entityType().isBlank()) {
+            conditions.add("entity_type = ?");
+            args.add(query.entityType());
+        }
+        if (query.entityId() != null) {
+            conditions.add("entity_id = ?");
+            args.add(query.entityId());
+        }
+        if (query.userEmail() != null && !query.userEmail().isBlank()) {
+            conditions.add("user_email = ?");
+            args.add(query.userEmail());
+        }
+        if (query.from() != null) {
+            conditions.add("created_at >= ?");
+            args.add(Timestamp.valueOf(query.from()));
+        }
+        if (query.to() != null) {
+            conditions.add("created_at < ?");
+            args.add(Timestamp.valueOf(query.to()));
+        }
+        if (seek != null) {
+            // Expanded rather than a row comparison so MySQL uses it as an index range
+            conditions.add("(created_at < ? OR (created_at = ? AND id < ?))");
+            Timestamp seekAt = Timestamp.valueOf(seek.createdAt());
+            args.add(seekAt);
+            args.add(seekAt);
+            args.add(seek.id());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    private static String encodeCursor(LocalDateTime createdAt, long id) {
+        String position = createdAt + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidQueryException("Invalid cursor");
+            }
+            return new Position(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidQueryException("Invalid cursor", e);
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, AuditLogResponse entry) throws IOException {
+        writer.write(Long.toString(entry.id()));
+        writer.write(',');
+        writer.write(entry.createdAt().toString());
+        writer.write(',');
+        CsvFields.writeText(writer, entry.entityType());
+        writer.write(',');
+        writer.write(Long.toString(entry.entityId()));
+        writer.write(',');
+        CsvFields.writeText(writer, entry.action());
+        writer.write(',');
+        CsvFields.writeText(writer, entry.userEmail());
+        writer.write(',');
+        CsvFields.writeText(writer, entry.changes());
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,323 @@
+package com.spring.fortress.vehicles.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.fortress.vehicles.enums.AuditBackpressure;
+import com.spring.fortress.vehicles.models.AuditLog;
+import com.spring.fortress.vehicles.utils.AuditChangeCodec;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes audit log entries to the HISTORY table in the background.
+ * <p>
+ * Entries recorded inside a transaction are held until it commits and dropped if it rolls back, so a
+ * business transaction no longer pays for its own audit inserts. Committed entries go to a bounded queue
+ * that a single writer thread drains in batches; each batch is one JDBC batch, which the driver sends as a
+ * multi-row INSERT because {@code rewriteBatchedStatements} is enabled. The entity's {@code IDENTITY} id is
+ * never read back, so it does not stand in the way of batching.
+ * </p>
+ * <p>
+ * The changed properties captured with an entry are serialized to JSON and compressed with
+ * {@link AuditChangeCodec} on the writer thread, so change-sets cost the audited request nothing beyond
+ * collecting the values.
+ * </p>
+ * <p>
+ * When the queue is full, the configured {@link AuditBackpressure} decides whether the committing thread
+ * waits, drops the entry or writes it itself. Queue depth, written and dropped entries are published to
+ * Micrometer as {@code audit.queue.size}, {@code audit.entries.written} and {@code audit.entries.dropped}.
+ * On shutdown the queue is drained before the data source closes.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class AuditLogWriter {
+
+    private static final String INSERT_AUDIT_SQL =
+            "INSERT INTO HISTORY_TABLE (entity_type, entity_id, action, user_email, changes, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * How long the writer waits for an entry before checking whether it should stop.
+     */
+    private static final long POLL_INTERVAL_MS = 200;
+
+    /**
+     * Number of times a batch is written before its entries are dropped.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 500;
+
+    /**
+     * Drops are logged once per this many entries, the counter carries the exact figure.
+     */
+    private static final long DROP_LOG_INTERVAL = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final AuditBackpressure backpressure;
+    private final long blockTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final Thread worker;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.writer.batch-size:500}") int batchSize,
+                          @Value("${audit.writer.backpressure:BLOCK}") AuditBackpressure backpressure,
+                          @Value("${audit.writer.block-timeout-ms:100}") long blockTimeoutMs,
+                          @Value("${audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("audit.writer.queue-capacity and audit.writer.batch-size must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.backpressure = backpressure;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.worker = new Thread(this::drain, "audit-log-writer");
+        this.worker.setDaemon(true);
+
+        Gauge.builder("audit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        FunctionCounter.builder("audit.entries.written", written, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("audit.entries.dropped", dropped, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * An audit entry with the properties it changed.
+     *
+     * @param auditLog   the audit entry
+     * @param properties the names of the changed properties
+     * @param oldValues  the previous values, index-aligned with {@code properties}, or {@code null} for a creation
+     * @param newValues  the new values, index-aligned with {@code properties}
+     */
+    public record Entry(AuditLog auditLog, String[] properties, Object[] oldValues, Object[] newValues) {
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        worker.start();
+        log.info("Audit log writer started with queue capacity {}, batch size {} and {} backpressure",
+                queue.remainingCapacity(), batchSize, backpressure);
+    }
+
+    /**
+     * Records an audit entry once the current transaction commits.
+     * Outside a transaction the entry is queued right away.
+     *
+     * @param entry the entry to write
+     */
+    public void submitAfterCommit(Entry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(entry);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Entry> pending = (List<Entry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Entry> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditLogWriter.this);
+                    if (status == STATUS_COMMITTED) {
+                        entries.forEach(AuditLogWriter.this::submit);
+                    }
+                }
+            });
+            pending = entries;
+        }
+        pending.add(entry);
+    }
+
+    /**
+     * Queues an audit entry, applying the backpressure policy when the queue is full.
+     * Once shutdown has begun, the entry is written by the calling thread.
+     *
+     * @param entry the entry to write
+     */
+    public void submit(Entry entry) {
+        if (!running) {
+            write(List.of(entry));
+            return;
+        }
+        boolean queued = switch (backpressure) {
+            case DROP -> queue.offer(entry);
+            case BLOCK -> offer(entry);
+            case CALLER_RUNS -> {
+                if (!queue.offer(entry)) {
+                    write(List.of(entry));
+                }
+                yield true;
+            }
+        };
+        if (!queued) {
+            drop(1, "audit queue is full");
+        }
+    }
+
+    /**
+     * Stops the writer after it has written every queued entry.
+     * Whatever it could not write within the shutdown timeout is written here.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Audit log writer did not stop within {} ms", shutdownTimeoutMs);
+        }
+        List<Entry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+        log.info("Audit log writer stopped after writing {} entries, {} dropped", written.get(), dropped.get());
+    }
+
+    private boolean offer(Entry entry) {
+        try {
+            return queue.offer(entry, blockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Entry first;
+            try {
+                first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Shutdown writes whatever is left from the calling thread
+                return;
+            }
+            if (first == null) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            // Entries that arrived while the previous batch was written go out together
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        List<AuditLog> rows = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            AuditLog row = entry.auditLog();
+            if (row.getChanges() == null) {
+                row.setChanges(AuditChangeCodec.compress(toJson(entry)));
+            }
+            rows.add(row);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_AUDIT_SQL, rows, rows.size(), (ps, row) -> {
+                    ps.setString(1, row.getEntityType());
+                    ps.setLong(2, row.getEntityId());
+                    ps.setString(3, row.getAction());
+                    ps.setString(4, row.getUserEmail());
+                    ps.setBytes(5, row.getChanges());
+                    ps.setTimestamp(6, Timestamp.valueOf(row.getCreatedAt() != null
+                            ? row.getCreatedAt() : LocalDateTime.now()));
+                });
+                written.addAndGet(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    log.error("Failed to write {} audit entries after {} attempts: {}",
+                            batch.size(), attempt, e.getMessage(), e);
+                    drop(batch.size(), "write failed");
+                    return;
+                }
+                log.warn("Failed to write {} audit entries, retrying (attempt {}): {}",
+                        batch.size(), attempt, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Serializes a change-set as {@code {"property": new}} for a creation
+     * and {@code {"property": [old, new]}} for an update.
+     */
+    private String toJson(Entry entry) {
+        if (entry.properties() == null || entry.properties().length == 0) {
+            return null;
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (int i = 0; i < entry.properties().length; i++) {
+            changes.put(entry.properties()[i], entry.oldValues() == null
+                    ? entry.newValues()[i]
+                    : new Object[]{entry.oldValues()[i], entry.newValues()[i]});
+        }
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize changes of {} {}, storing the entry without them: {}",
+                    entry.auditLog().getEntityType(), entry.auditLog().getEntityId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void drop(int count, String reason) {
+        long before = dropped.getAndAdd(count);
+        if (before / DROP_LOG_INTERVAL != (before + count) / DROP_LOG_INTERVAL || before == 0) {
+            log.warn("Dropped {} audit entries ({}), {} dropped in total", count, reason, before + count);
+        }
+    }
+}
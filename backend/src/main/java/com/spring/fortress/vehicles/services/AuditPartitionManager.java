@@ -0,0 +1,218 @@
+package com.spring.fortress.vehicles.services;
+
+import com.spring.fortress.vehicles.dtos.response.AuditLogResponse;
+import com.spring.fortress.vehicles.utils.AuditChangeCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the HISTORY table partitioned by month and archives months older than the retention window.
+ * <p>
+ * Active when {@code audit.storage.mode=partitioned}. On first start the table is converted to
+ * {@code RANGE} partitioning on {@code TO_DAYS(created_at)}, with one partition per month that holds rows
+ * and a catch-all {@code pmax}; the primary key becomes {@code (id, created_at)} because MySQL requires
+ * every unique key to include the partitioning column. Daily maintenance then splits partitions for the
+ * coming months off {@code pmax}, and moves every month older than the retention window to
+ * {@link AuditArchiveStore} before dropping its partition. Dropping a partition is a metadata operation,
+ * so the table and its indexes stop growing without any bulk DELETE.
+ * </p>
+ * <p>
+ * The conversion rebuilds the table once and locks it while doing so. Both the conversion and maintenance
+ * run under a {@link SchedulerLockService} lease, so only one node alters the table at a time.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@ConditionalOnProperty(name = "audit.storage.mode", havingValue = "partitioned")
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class AuditPartitionManager {
+
+    private static final String TABLE = "HISTORY_TABLE";
+    private static final String CATCH_ALL = "pmax";
+    private static final String LOCK_NAME = "audit-partition-maintenance";
+    private static final Duration LEASE = Duration.ofHours(1);
+    private static final Duration HOLD_AT_LEAST = Duration.ofMinutes(10);
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("'p'uuuuMM");
+
+    private static final String SELECT_PARTITIONS_SQL =
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+    private static final String SELECT_OLDEST_SQL = "SELECT MIN(created_at) FROM " + TABLE;
+    private static final String SELECT_PARTITION_ROWS_SQL =
+            "SELECT id, entity_type, entity_id, action, user_email, changes, created_at FROM " + TABLE +
+            " PARTITION (%s) ORDER BY created_at DESC, id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final AuditArchiveStore archiveStore;
+    private final SchedulerLockService locks;
+    private final int retentionMonths;
+    private final int monthsAhead;
+    // A lock rather than synchronized, so a virtual thread waiting on JDBC does not pin its carrier
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 AuditArchiveStore archiveStore,
+                                 SchedulerLockService locks,
+                                 @Value("${audit.partition.retention-months:12}") int retentionMonths,
+                                 @Value("${audit.partition.months-ahead:2}") int monthsAhead) {
+        if (retentionMonths < 1 || monthsAhead < 1) {
+            throw new IllegalArgumentException("audit.partition.retention-months and months-ahead must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the whole result
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.archiveStore = archiveStore;
+        this.locks = locks;
+        this.retentionMonths = retentionMonths;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * Partitions the table if it is not partitioned yet, then runs maintenance, unless another node is
+     * already doing so.
+     */
+    @PostConstruct
+    public void initialize() {
+        locks.runExclusively(LOCK_NAME, LEASE, Duration.ZERO, () -> {
+            if (partitions().isEmpty()) {
+                partitionTable();
+            }
+            runMaintenance();
+        });
+    }
+
+    /**
+     * Creates partitions for the coming months and archives months past the retention window, on one node.
+     * A month whose archive fails keeps its partition and is retried on the next run.
+     */
+    @Scheduled(cron = "${audit.partition.maintenance-cron:0 30 2 * * *}")
+    public void maintain() {
+        locks.runExclusively(LOCK_NAME, LEASE, HOLD_AT_LEAST, this::runMaintenance);
+    }
+
+    private void runMaintenance() {
+        maintenanceLock.lock();
+        try {
+            maintainPartitions();
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        addPartitionsThrough(current.plusMonths(monthsAhead));
+
+        YearMonth cutoff = current.minusMonths(retentionMonths);
+        for (String partition : partitions()) {
+            if (CATCH_ALL.equals(partition)) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(partition, PARTITION_FORMAT);
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            try {
+                archive(partition, month);
+            } catch (IOException | UncheckedIOException | DataAccessException e) {
+                log.error("Failed to archive audit partition {}, will retry: {}", partition, e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    private void partitionTable() {
+        Timestamp oldest = jdbcTemplate.queryForObject(SELECT_OLDEST_SQL, Timestamp.class);
+        YearMonth first = oldest == null ? YearMonth.now() : YearMonth.from(oldest.toLocalDateTime());
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.add(definition(month));
+        }
+        definitions.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN MAXVALUE");
+
+        log.warn("Partitioning {} by month from {} to {}, the table is locked until this completes", TABLE, first, last);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE (TO_DAYS(created_at)) (" +
+                String.join(", ", definitions) + ")");
+        log.info("Partitioned {} into {} monthly partitions", TABLE, definitions.size() - 1);
+    }
+
+    private void addPartitionsThrough(YearMonth last) {
+        TreeSet<YearMonth> existing = new TreeSet<>();
+        for (String partition : partitions()) {
+            if (!CATCH_ALL.equals(partition)) {
+                existing.add(YearMonth.parse(partition, PARTITION_FORMAT));
+            }
+        }
+        YearMonth next = existing.isEmpty() ? YearMonth.now() : existing.last().plusMonths(1);
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.add(definition(month));
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN MAXVALUE");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + CATCH_ALL + " INTO (" +
+                String.join(", ", definitions) + ")");
+        log.info("Added audit partitions from {} to {}", next, last);
+    }
+
+    private void archive(String partition, YearMonth month) throws IOException {
+        try (AuditArchiveStore.MonthWriter writer = archiveStore.open(month)) {
+            streamingJdbcTemplate.query(String.format(SELECT_PARTITION_ROWS_SQL, partition), rs -> {
+                try {
+                    writer.append(new AuditLogResponse(
+                            rs.getLong("id"),
+                            rs.getString("entity_type"),
+                            rs.getLong("entity_id"),
+                            rs.getString("action"),
+                            rs.getString("user_email"),
+                            AuditChangeCodec.decompress(rs.getBytes("changes")),
+                            rs.getTimestamp("created_at").toLocalDateTime()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.commit();
+        }
+        // Only dropped once the archive is in place; a crash in between archives the month again
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+        log.info("Dropped audit partition {} after archiving it", partition);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS_SQL, String.class, TABLE);
+    }
+
+    private static String definition(YearMonth month) {
+        return "PARTITION " + month.format(PARTITION_FORMAT) +
+                " VALUES LESS THAN (TO_DAYS('" + month.plusMonths(1).atDay(1) + "'))";
+    }
+}
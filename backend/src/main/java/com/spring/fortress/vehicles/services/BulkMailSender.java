@@ -0,0 +1,102 @@
+package com.spring.fortress.vehicles.services;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends many emails over a few SMTP sessions.
+ * <p>
+ * {@link JavaMailSender#send(MimeMessage...)} connects, negotiates STARTTLS and authenticates once and then
+ * sends every message it is given over that session. This sender splits a bulk send into batches of
+ * {@code email.bulk.batch-size} messages, so each session stays within what mail servers accept per
+ * connection. A failure is reported per message instead of failing the whole send. Sessions run on the
+ * calling thread; {@link EmailOutboxDispatcher} decides how many of them are open at once.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+public class BulkMailSender {
+
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+
+    public BulkMailSender(JavaMailSender mailSender, @Value("${email.bulk.batch-size:50}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("email.bulk.batch-size must be at least 1");
+        }
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * The number of messages sent over one SMTP session.
+     *
+     * @return the batch size
+     */
+    public int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sends messages on the calling thread, one SMTP session per {@link #batchSize()} messages.
+     *
+     * @param messages the messages to send
+     * @return the failures by position in {@code messages}; empty if every message was accepted
+     */
+    public Map<Integer, Exception> sendBatch(List<MimeMessage> messages) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        for (int start = 0; start < messages.size(); start += batchSize) {
+            int offset = start;
+            List<MimeMessage> batch = messages.subList(start, Math.min(start + batchSize, messages.size()));
+            sendSession(batch).forEach((position, error) -> failures.put(offset + position, error));
+        }
+        return failures;
+    }
+
+    private Map<Integer, Exception> sendSession(List<MimeMessage> batch) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        if (batch.isEmpty()) {
+            return failures;
+        }
+        try {
+            mailSender.send(batch.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                failAll(batch, e, failures);
+                return failures;
+            }
+            Map<MimeMessage, Integer> positions = new IdentityHashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                positions.put(batch.get(i), i);
+            }
+            failed.forEach((message, error) -> {
+                Integer position = positions.get(message);
+                if (position != null) {
+                    failures.put(position, error);
+                }
+            });
+        } catch (MailException e) {
+            // Connecting or authenticating failed, so nothing in the batch was sent
+            failAll(batch, e, failures);
+        }
+        return failures;
+    }
+
+    private static void failAll(List<MimeMessage> batch, Exception error, Map<Integer, Exception> failures) {
+        for (int i = 0; i < batch.size(); i++) {
+            failures.put(i, error);
+        }
+    }
+}
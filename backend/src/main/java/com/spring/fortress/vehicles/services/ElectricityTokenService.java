@@ -0,0 +1,183 @@
+package com.spring.fortress.vehicles.services;
+
+import com.spring.fortress.vehicles.dtos.request.TokenIssueRequest;
+import com.spring.fortress.vehicles.dtos.response.MeterInfoResponse;
+import com.spring.fortress.vehicles.dtos.response.TokenIssueOutcome;
+import com.spring.fortress.vehicles.dtos.response.TokenRedemptionResponse;
+import com.spring.fortress.vehicles.enums.MeterStatus;
+import com.spring.fortress.vehicles.enums.TokenStatus;
+import com.spring.fortress.vehicles.exceptions.TokenRedemptionException;
+import com.spring.fortress.vehicles.interfaces.ElectricityTokenInterface;
+import com.spring.fortress.vehicles.models.Meter;
+import com.spring.fortress.vehicles.models.Token;
+import com.spring.fortress.vehicles.models.TokenAudit;
+import com.spring.fortress.vehicles.repositories.MeterRepository;
+import com.spring.fortress.vehicles.repositories.TokenAuditRepository;
+import com.spring.fortress.vehicles.repositories.TokenRepository;
+import com.spring.fortress.vehicles.utils.ElectricityTokenUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Service for electricity meters and tokens.
+ * Persists vended tokens, redeems them against their meter and serves meter balances and token history.
+ * Balance changes go through the {@link MeterBalanceLedger} rather than updating the METER row directly;
+ * a redeemed token stays marked {@code credit_pending} until the ledger has applied its units.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ElectricityTokenService implements ElectricityTokenInterface {
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    private final ElectricityTokenUtil electricityTokenUtil;
+    private final TokenIssuancePipeline tokenIssuancePipeline;
+    private final MeterRepository meterRepository;
+    private final TokenRepository tokenRepository;
+    private final TokenAuditRepository tokenAuditRepository;
+    private final MeterBalanceLedger meterBalanceLedger;
+
+    @Override
+    public Token issueToken(String meterNumber, double units) {
+        TokenIssueOutcome outcome = tokenIssuancePipeline.issue(
+                List.of(new TokenIssueRequest(0, meterNumber, units))).get(0);
+        if (!outcome.isSuccess()) {
+            throw new IllegalStateException(outcome.error());
+        }
+        log.info("Issued token {} for meter {}", outcome.token().getId(), meterNumber);
+        return outcome.token();
+    }
+
+    @Override
+    public List<TokenIssueOutcome> issueTokens(List<TokenIssueRequest> requests) {
+        return tokenIssuancePipeline.issue(requests);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MeterInfoResponse getMeterInfo(String meterNumber) {
+        Meter meter = getMeter(meterNumber);
+        String customerName = meter.getOwner() != null ? meter.getOwner().getUser().getFullName() : null;
+        long tokensUsed = tokenRepository.countByMeterIdAndStatus(meter.getId(), TokenStatus.USED);
+        MeterBalanceLedger.PendingBalance pending = meterBalanceLedger.pending(meter.getMeterNumber());
+
+        LocalDateTime lastTopUp = meter.getLastTopUp();
+        if (pending.lastTopUp() != null && (lastTopUp == null || pending.lastTopUp().isAfter(lastTopUp))) {
+            lastTopUp = pending.lastTopUp();
+        }
+
+        return new MeterInfoResponse(
+                meter.getMeterNumber(),
+                customerName,
+                meter.getBalance() + pending.units(),
+                lastTopUp,
+                meter.getStatus(),
+                tokensUsed
+        );
+    }
+
+    @Override
+    @Transactional
+    public TokenRedemptionResponse redeemToken(String tokenValue, String meterNumber) {
+        String normalized = electricityTokenUtil.normalizeToken(tokenValue);
+        if (normalized == null) {
+            throw new IllegalStateException("Token must contain exactly 20 digits");
+        }
+
+        Meter meter = getMeter(meterNumber);
+        if (meter.getStatus() != MeterStatus.ACTIVE) {
+            throw new IllegalStateException("Meter " + meterNumber + " is " + meter.getStatus());
+        }
+
+        Token token = tokenRepository.findByMeterIdAndTokenValue(meter.getId(), normalized)
+                .orElseThrow(() -> {
+                    log.warn("Unknown token {} for meter {}", normalized, meterNumber);
+                    return new IllegalStateException("Token was not issued for meter " + meterNumber);
+                });
+
+        // The status read with the token rejects replays without another statement
+        if (token.getStatus() == TokenStatus.USED) {
+            log.warn("Rejected replay of token {} on meter {}", normalized, meterNumber);
+            throw new TokenRedemptionException("Token has already been redeemed");
+        }
+
+        LocalDateTime now = now();
+        if (token.effectiveStatus(now) == TokenStatus.EXPIRED) {
+            throw new IllegalStateException("Token expired at " + token.getExpiresAt());
+        }
+
+        // The conditional update decides between concurrent first redemptions
+        if (tokenRepository.markRedeemed(token.getId(), now) == 0) {
+            log.warn("Rejected replay of token {} on meter {}", normalized, meterNumber);
+            throw new TokenRedemptionException("Token has already been redeemed");
+        }
+        creditAfterCommit(token.getId(), meter.getMeterNumber(), token.getUnits(), now);
+
+        tokenAuditRepository.save(TokenAudit.builder()
+                .tokenValue(normalized)
+                .meterNumber(meterNumber)
+                .units(token.getUnits())
+                .usedAt(now)
+                .valid(true)
+                .build());
+
+        // The credit of this redemption reaches the ledger only once the transaction commits
+        double newBalance = meterRepository.findBalanceById(meter.getId())
+                + meterBalanceLedger.pending(meter.getMeterNumber()).units() + token.getUnits();
+        log.info("Redeemed token {} on meter {}: +{} units", token.getId(), meterNumber, token.getUnits());
+        return new TokenRedemptionResponse(normalized, meterNumber, token.getUnits(), newBalance, now,
+                "RED-" + token.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Token> getTokenHistory(String meterNumber, int page, int size) {
+        Meter meter = getMeter(meterNumber);
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        return tokenRepository.findByMeterIdOrderByIssuedAtDesc(meter.getId(),
+                PageRequest.of(Math.max(page, 0), pageSize));
+    }
+
+    /**
+     * Returns the current time on the UTC clock that token TIDs are based on.
+     *
+     * @return the current UTC date and time
+     */
+    public LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    private void creditAfterCommit(long tokenId, String meterNumber, double units, LocalDateTime toppedUpAt) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    meterBalanceLedger.credit(tokenId, meterNumber, units, toppedUpAt);
+                } catch (RuntimeException e) {
+                    // The token stays credit_pending, so the ledger's reconciliation credits it later
+                    log.error("Failed to journal the credit of token {} to meter {}, leaving it to reconciliation: {}",
+                            tokenId, meterNumber, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    private Meter getMeter(String meterNumber) {
+        return meterRepository.findByMeterNumber(meterNumber)
+                .orElseThrow(() -> new IllegalStateException("Meter " + meterNumber + " not found"));
+    }
+}
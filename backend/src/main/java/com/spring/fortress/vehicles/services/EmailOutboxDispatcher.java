@@ -0,0 +1,189 @@
+package com.spring.fortress.vehicles.services;
+
+import com.spring.fortress.vehicles.models.EmailOutbox;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers queued emails from the outbox over SMTP.
+ * <p>
+ * A scheduled poll claims due emails and hands them, in batches, to a fixed pool of sender threads; each batch
+ * goes out over one SMTP session through {@link BulkMailSender}. The poll never claims more than the pool can
+ * work on, and never waits for SMTP itself, so slow mail servers neither hold up other scheduled tasks nor
+ * pile up claimed emails. A failed delivery is retried with exponential backoff until it runs out of attempts,
+ * after which it stays in the outbox as {@code FAILED}. With {@code spring.threads.virtual.enabled} the
+ * senders are virtual threads; the pool size still bounds how many SMTP sessions are open at once.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService outbox;
+    private final JavaMailSender mailSender;
+    private final BulkMailSender bulkMailSender;
+    private final String fromEmail;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final ExecutorService senders;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public EmailOutboxDispatcher(EmailOutboxService outbox,
+                                 JavaMailSender mailSender,
+                                 BulkMailSender bulkMailSender,
+                                 @Value("${spring.mail.username}") String fromEmail,
+                                 @Value("${email.outbox.threads:4}") int threads,
+                                 @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${email.outbox.backoff-ms:30000}") long backoffMs,
+                                 @Value("${email.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                                 @Value("${email.outbox.lease-ms:120000}") long leaseMs,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (threads < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("email.outbox.threads and email.outbox.max-attempts must be at least 1");
+        }
+        this.outbox = outbox;
+        this.mailSender = mailSender;
+        this.bulkMailSender = bulkMailSender;
+        this.fromEmail = fromEmail;
+        this.maxInFlight = threads * bulkMailSender.batchSize() * 2;
+        this.maxAttempts = maxAttempts;
+        this.backoff = Duration.ofMillis(backoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.lease = Duration.ofMillis(leaseMs);
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("email-outbox-", 1).factory()
+                : Thread.ofPlatform().name("email-outbox-", 1).daemon().factory();
+        this.senders = Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * Claims due emails, up to the free capacity of the sender pool, and starts sending them.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        int capacity = maxInFlight - inFlight.get();
+        if (capacity <= 0) {
+            return;
+        }
+        List<EmailOutbox> claimed;
+        try {
+            claimed = outbox.claim(capacity, lease);
+        } catch (RuntimeException e) {
+            log.warn("Failed to claim emails from the outbox: {}", e.getMessage());
+            return;
+        }
+        int batchSize = bulkMailSender.batchSize();
+        for (int start = 0; start < claimed.size(); start += batchSize) {
+            List<EmailOutbox> batch = claimed.subList(start, Math.min(start + batchSize, claimed.size()));
+            inFlight.addAndGet(batch.size());
+            senders.execute(() -> {
+                try {
+                    deliver(batch);
+                } finally {
+                    inFlight.addAndGet(-batch.size());
+                }
+            });
+        }
+        if (!claimed.isEmpty()) {
+            log.debug("Dispatching {} emails from the outbox", claimed.size());
+        }
+    }
+
+    /**
+     * Stops the sender pool; emails still being sent are retried elsewhere once their lease expires.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        senders.shutdown();
+        if (!senders.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Email outbox senders did not finish within 10 seconds");
+        }
+    }
+
+    private void deliver(List<EmailOutbox> batch) {
+        List<EmailOutbox> ready = new ArrayList<>(batch.size());
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (EmailOutbox email : batch) {
+            try {
+                messages.add(toMessage(email));
+                ready.add(email);
+            } catch (MessagingException e) {
+                failed(email, e.getMessage());
+            }
+        }
+
+        Map<Integer, Exception> failures = bulkMailSender.sendBatch(messages);
+        List<Long> sent = new ArrayList<>(ready.size());
+        for (int i = 0; i < ready.size(); i++) {
+            Exception error = failures.get(i);
+            if (error == null) {
+                sent.add(ready.get(i).getId());
+            } else {
+                failed(ready.get(i), error.getMessage());
+            }
+        }
+        if (sent.isEmpty()) {
+            return;
+        }
+        try {
+            outbox.markSent(sent);
+            log.info("Successfully sent {} emails", sent.size());
+        } catch (RuntimeException e) {
+            // The lease expires and the emails are sent again; better twice than never
+            log.error("Sent {} emails but failed to record them: {}", sent.size(), e.getMessage());
+        }
+    }
+
+    private MimeMessage toMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return message;
+    }
+
+    private void failed(EmailOutbox email, String error) {
+        try {
+            if (email.getAttempts() >= maxAttempts) {
+                log.error("Giving up on email {} to {} after {} attempts: {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), error);
+                outbox.markFailed(email.getId(), error, null);
+            } else {
+                Duration delay = backoff.multipliedBy(1L << Math.min(email.getAttempts() - 1, 20));
+                if (delay.compareTo(maxBackoff) > 0) {
+                    delay = maxBackoff;
+                }
+                log.warn("Failed to send email {} to {} (attempt {}), retrying in {}s: {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), delay.toSeconds(), error);
+                outbox.markFailed(email.getId(), error, delay);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to record delivery failure of email {}: {}", email.getId(), e.getMessage());
+        }
+    }
+}
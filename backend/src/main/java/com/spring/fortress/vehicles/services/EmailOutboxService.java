@@ -0,0 +1,176 @@
+package com.spring.fortress.vehicles.services;
+
+import com.spring.fortress.vehicles.enums.EmailStatus;
+import com.spring.fortress.vehicles.models.EmailOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads and writes the EMAIL_OUTBOX table.
+ * <p>
+ * {@link #enqueue} joins the caller's transaction, so an email exists exactly when the change that caused it
+ * commits. {@link #claim} hands due emails to one dispatcher at a time: rows are locked with
+ * {@code FOR UPDATE SKIP LOCKED}, so concurrent dispatchers on other nodes skip them instead of waiting, and
+ * marked {@link EmailStatus#SENDING} with a lease. An email whose dispatcher dies before reporting back becomes
+ * due again when its lease expires.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class EmailOutboxService {
+
+    private static final String INSERT_EMAIL_SQL =
+            "INSERT INTO EMAIL_OUTBOX (recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+            "VALUES (?, ?, ?, ?, 0, ?, ?)";
+    private static final String SELECT_DUE_SQL =
+            "SELECT id, recipient, subject, body, attempts FROM EMAIL_OUTBOX " +
+            "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= ? " +
+            "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String MARK_SENDING_SQL =
+            "UPDATE EMAIL_OUTBOX SET status = 'SENDING', attempts = attempts + 1, next_attempt_at = ? WHERE id = ?";
+    private static final String MARK_SENT_SQL =
+            "UPDATE EMAIL_OUTBOX SET status = 'SENT', sent_at = ?, last_error = NULL WHERE id = ?";
+    private static final String MARK_RETRY_SQL =
+            "UPDATE EMAIL_OUTBOX SET status = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final RowMapper<EmailOutbox> ROW_MAPPER = (rs, rowNum) -> EmailOutbox.builder()
+            .id(rs.getLong("id"))
+            .recipient(rs.getString("recipient"))
+            .subject(rs.getString("subject"))
+            .body(rs.getString("body"))
+            .attempts(rs.getInt("attempts"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate independentTransactionTemplate;
+
+    public EmailOutboxService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.independentTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.independentTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Queues an email in the caller's transaction, or on its own outside one.
+     *
+     * @param recipient the recipient's email address
+     * @param subject   the email subject
+     * @param body      the HTML body
+     */
+    public void enqueue(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.update(INSERT_EMAIL_SQL, recipient, subject, body, EmailStatus.PENDING.name(),
+                Timestamp.valueOf(now), Timestamp.valueOf(now));
+        log.debug("Queued email '{}' to {}", subject, recipient);
+    }
+
+    /**
+     * Queues several emails with one batched insert, in the caller's transaction or on their own outside one.
+     *
+     * @param emails the emails to queue; only recipient, subject and body are used
+     */
+    public void enqueue(List<EmailOutbox> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+        List<Object[]> rows = new ArrayList<>(emails.size());
+        for (EmailOutbox email : emails) {
+            rows.add(new Object[]{email.getRecipient(), email.getSubject(), email.getBody(),
+                    EmailStatus.PENDING.name(), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_EMAIL_SQL, rows);
+        log.debug("Queued {} emails", emails.size());
+    }
+
+    /**
+     * Queues an email in a transaction of its own, so it is sent even if the caller's transaction rolls back.
+     *
+     * @param recipient the recipient's email address
+     * @param subject   the email subject
+     * @param body      the HTML body
+     */
+    public void enqueueIndependently(String recipient, String subject, String body) {
+        independentTransactionTemplate.executeWithoutResult(status -> enqueue(recipient, subject, body));
+    }
+
+    /**
+     * Claims up to {@code limit} due emails for delivery.
+     *
+     * @param limit the maximum number of emails to claim
+     * @param lease how long the claim lasts before the emails become due again
+     * @return the claimed emails, with {@code attempts} counting the attempt about to be made
+     */
+    public List<EmailOutbox> claim(int limit, Duration lease) {
+        if (limit < 1) {
+            return Collections.emptyList();
+        }
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            List<EmailOutbox> due = jdbcTemplate.query(SELECT_DUE_SQL, ROW_MAPPER, Timestamp.valueOf(now), limit);
+            if (!due.isEmpty()) {
+                Timestamp leaseEnd = Timestamp.valueOf(now.plus(lease));
+                List<Object[]> rows = new ArrayList<>(due.size());
+                for (EmailOutbox email : due) {
+                    email.setAttempts(email.getAttempts() + 1);
+                    rows.add(new Object[]{leaseEnd, email.getId()});
+                }
+                jdbcTemplate.batchUpdate(MARK_SENDING_SQL, rows);
+            }
+            return due;
+        });
+        return claimed == null ? Collections.emptyList() : claimed;
+    }
+
+    /**
+     * Records successful deliveries.
+     *
+     * @param ids the email IDs
+     */
+    public void markSent(List<Long> ids) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            rows.add(new Object[]{now, id});
+        }
+        jdbcTemplate.batchUpdate(MARK_SENT_SQL, rows);
+    }
+
+    /**
+     * Records a failed delivery, scheduling another attempt or giving up.
+     *
+     * @param id          the email ID
+     * @param error       the failure reason
+     * @param retryAfter  the delay before the next attempt, or {@code null} to give up
+     */
+    public void markFailed(long id, String error, Duration retryAfter) {
+        String reason = error == null ? null : error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH));
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        if (retryAfter == null) {
+            jdbcTemplate.update(MARK_RETRY_SQL, EmailStatus.FAILED.name(), Timestamp.valueOf(now), reason, id);
+        } else {
+            jdbcTemplate.update(MARK_RETRY_SQL, EmailStatus.PENDING.name(), Timestamp.valueOf(now.plus(retryAfter)),
+                    reason, id);
+        }
+    }
+}
@@ -4,21 +4,19 @@ import com.spring.fortress.vehicles.dtos.request.AccountActivationRequest;
 import com.spring.fortress.vehicles.dtos.request.ResetPasswordRequest;
 import com.spring.fortress.vehicles.dtos.response.VerificationResponse;
 import com.spring.fortress.vehicles.models.Vehicle;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
+import java.util.Map;
 
 /**
  * Service for sending email notifications in the vehicle tracking system.
  * Handles password reset, account activation, verification, and transfer notifications.
+ * Emails are queued in the outbox within the caller's transaction and delivered by
+ * {@link EmailOutboxDispatcher}, so no request waits on SMTP. Bodies are rendered from the
+ * {@code templates/mail} templates through {@link EmailTemplateService}.
  *
  * @author Fortress Backend
  * @since 1.0
@@ -28,26 +26,12 @@ import java.time.LocalDate;
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxService emailOutbox;
+    private final EmailTemplateService templates;
 
     @Value("${reset-password-url}")
     private String resetPasswordUrl;
 
-    @Value("${support-email}")
-    private String supportEmail;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-
-    /**
-     * Generates a common email signature with support contact and copyright.
-     *
-     * @return the HTML signature
-     */
-    private String getCommonSignature() {
-        return "<br><br>If you need help, contact us at: <a href='mailto:" + supportEmail + "'>" + supportEmail + "</a><br>© " + LocalDate.now().getYear();
-    }
-
     /**
      * Sends a password reset email with a reset code and link.
      *
@@ -67,12 +51,10 @@ public class EmailService {
     public void sendActivateAccountEmail(AccountActivationRequest request) {
         log.info("Sending account activation email to: {}", request.email());
         String subject = "Account Activation Request";
-        String html = "<p>Hello " + request.fullName() + ",</p>"
-                + "<p>Please use the following code to activate your account:</p>"
-                + "<h2>" + request.verificationCode() + "</h2>"
-                + "<p><strong>This code will expire at: " + request.expiresAt() + "</strong></p>"
-                + "<p>If your code expires, you can request a new one from the activation page.</p>"
-                + getCommonSignature();
+        String html = templates.render("mail/account-activation", Map.of(
+                "fullName", request.fullName(),
+                "verificationCode", request.verificationCode(),
+                "expiresAt", request.expiresAt()));
         sendEmail(request.email(), subject, html);
     }
 
@@ -85,10 +67,7 @@ public class EmailService {
     public void sendAccountVerifiedSuccessfullyEmail(VerificationResponse response) {
         log.info("Sending account verification success email to: {}", response.email());
         String subject = "Account Verification Successful";
-        String html = "<p>Hi " + response.fullName() + ",</p>"
-                + "<p>Your account has been verified successfully. Welcome aboard!</p>"
-                + "<p>You can now log in to your account and start using our vehicle tracking system.</p>"
-                + getCommonSignature();
+        String html = templates.render("mail/account-verified", Map.of("fullName", response.fullName()));
         sendEmail(response.email(), subject, html);
     }
 
@@ -101,14 +80,13 @@ public class EmailService {
     public void sendPasswordResetSuccessfully(VerificationResponse response) {
         log.info("Sending password reset success email to: {}", response.email());
         String subject = "Password Reset Successful";
-        String html = "<p>Hello " + response.fullName() + ",</p>"
-                + "<p>Your password has been reset successfully.</p>"
-                + getCommonSignature();
+        String html = templates.render("mail/password-reset-success", Map.of("fullName", response.fullName()));
         sendEmail(response.email(), subject, html);
     }
 
     /**
      * Sends a notification email when a verification code expires.
+     * The email is queued on its own, since the caller rejects the expired code by rolling back.
      *
      * @param email     the recipient's email
      * @param fullName  the recipient's full name
@@ -117,11 +95,9 @@ public class EmailService {
     public void sendOtpExpiredNotification(String email, String fullName) {
         log.info("Sending OTP expired notification to: {}", email);
         String subject = "Verification Code Expired";
-        String html = "<p>Hello " + fullName + ",</p>"
-                + "<p>Your verification code has expired.</p>"
-                + "<p>Please request a new code by visiting the activation page.</p>"
-                + getCommonSignature();
-        sendEmail(email, subject, html);
+        String html = templates.render("mail/otp-expired", Map.of("fullName", fullName));
+        requireRecipient(email);
+        emailOutbox.enqueueIndependently(email, subject, html);
     }
 
     /**
@@ -136,57 +112,34 @@ public class EmailService {
         log.info("Sending transfer notifications for vehicle chassis: {}", vehicle.getChassisNumber());
         String subject = "Vehicle Ownership Transfer Notification";
 
-        String oldOwnerMessage = String.format(
-                "<p>Dear Customer,</p>" +
-                        "<p>This is to inform you that your vehicle (Chassis Number: %s, Model: %s) " +
-                        "has been successfully transferred to a new owner.</p>" +
-                        "<p>Thank you for using our services.</p>" +
-                        "<p>Rwanda Revenue Authority.</p>" +
-                        getCommonSignature(),
-                vehicle.getChassisNumber(), vehicle.getModelName()
-        );
-
-        String newOwnerMessage = String.format(
-                "<p>Dear Customer,</p>" +
-                        "<p>Congratulations! You are now the new owner of the vehicle " +
-                        "(Chassis Number: %s, Model: %s).</p>" +
-                        "<p>Please ensure to complete any remaining formalities if required.</p>" +
-                        "<p>Thank you for choosing our services.</p>" +
-                        "<p>Rwanda Revenue Authority.</p>" +
-                        getCommonSignature(),
-                vehicle.getChassisNumber(), vehicle.getModelName()
-        );
+        Map<String, String> variables = Map.of(
+                "chassisNumber", vehicle.getChassisNumber(),
+                "modelName", vehicle.getModelName());
+        String oldOwnerMessage = templates.render("mail/transfer-old-owner", variables);
+        String newOwnerMessage = templates.render("mail/transfer-new-owner", variables);
 
         sendEmail(oldOwnerEmail, subject, oldOwnerMessage);
         sendEmail(newOwnerEmail, subject, newOwnerMessage);
     }
 
     /**
-     * Sends an HTML email to the specified recipient.
+     * Queues an HTML email to the specified recipient in the outbox.
      *
      * @param to           the recipient's email address
      * @param subject      the email subject
      * @param htmlContent  the HTML content of the email
-     * @throws IllegalStateException if email sending fails
+     * @throws IllegalStateException if the recipient is missing
      */
     private void sendEmail(String to, String subject, String htmlContent) {
+        requireRecipient(to);
+        emailOutbox.enqueue(to, subject, htmlContent);
+        log.info("Queued email to: {}", to);
+    }
+
+    private void requireRecipient(String to) {
         if (to == null || to.isBlank()) {
             log.error("Cannot send email: recipient address is null or empty");
             throw new IllegalStateException("Recipient email address is required");
         }
-
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            mailSender.send(message);
-            log.info("Successfully sent email to: {}", to);
-        } catch (MessagingException e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage(), e);
-            throw new IllegalStateException("Failed to send email: " + e.getMessage(), e);
-        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.spring.fortress.vehicles.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders email bodies from Thymeleaf templates, running Thymeleaf once per template and locale.
+ * <p>
+ * The first render of a template renders it with a marker in place of every per-recipient variable, next
+ * to the shared variables such as the support address and year. The result is split into literal text and
+ * variable slots and cached, so later renders only HTML-escape the recipient's values into the slots.
+ * A list variable, such as the rows of a table built with {@code th:each}, is rendered with two marker
+ * items, and the text between them is repeated between the recipient's items.
+ * </p>
+ * <p>
+ * The per-recipient variable names of a template are fixed by its first render; later renders must pass
+ * the same names. An empty list has no text to repeat, so it is rendered by Thymeleaf directly.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class EmailTemplateService {
+
+    private static final Pattern MARKER = Pattern.compile("\\{\\{([A-Za-z][A-Za-z0-9]*)(?:\\.([01]))?}}");
+
+    private final SpringTemplateEngine templateEngine;
+    private final String supportEmail;
+    private final Locale defaultLocale;
+    private final Map<Key, Skeleton> skeletons = new ConcurrentHashMap<>();
+
+    public EmailTemplateService(SpringTemplateEngine templateEngine,
+                                @Value("${support-email}") String supportEmail,
+                                @Value("${email.template.locale:en}") Locale defaultLocale) {
+        this.templateEngine = templateEngine;
+        this.supportEmail = supportEmail;
+        this.defaultLocale = defaultLocale;
+    }
+
+    private record Key(String template, Locale locale, int year) {
+    }
+
+    /**
+     * A rendered template: literal text interleaved with variable slots.
+     * {@code literals} has one more element than {@code slots}.
+     */
+    private record Skeleton(List<String> names, List<String> literals, List<Slot> slots, int length) {
+    }
+
+    /**
+     * A variable in a skeleton; {@code separator} is set for a list variable and repeated between its items.
+     */
+    private record Slot(String name, String separator) {
+    }
+
+    /**
+     * Renders a template in the default locale.
+     *
+     * @param template  the template name, relative to {@code templates/}
+     * @param variables the per-recipient variables; values are HTML-escaped, lists are repeated
+     * @return the HTML body
+     */
+    public String render(String template, Map<String, ?> variables) {
+        return render(template, defaultLocale, variables);
+    }
+
+    /**
+     * Renders a template in the given locale.
+     *
+     * @param template  the template name, relative to {@code templates/}
+     * @param locale    the locale to render in
+     * @param variables the per-recipient variables; values are HTML-escaped, lists are repeated
+     * @return the HTML body
+     * @throws IllegalArgumentException if the variables differ from the ones the template was first rendered with
+     */
+    public String render(String template, Locale locale, Map<String, ?> variables) {
+        Key key = new Key(template, locale, Year.now().getValue());
+        Skeleton skeleton = skeletons.computeIfAbsent(key, k -> compile(k, variables));
+        if (!skeleton.names().containsAll(variables.keySet()) || skeleton.names().size() != variables.size()) {
+            throw new IllegalArgumentException("Template " + template + " takes variables " + skeleton.names() +
+                    ", got " + variables.keySet());
+        }
+        for (Slot slot : skeleton.slots()) {
+            if (slot.separator() != null && ((List<?>) variables.get(slot.name())).isEmpty()) {
+                return templateEngine.process(template, context(key, variables));
+            }
+        }
+
+        StringBuilder html = new StringBuilder(skeleton.length() + 64 * skeleton.slots().size());
+        for (int i = 0; i < skeleton.slots().size(); i++) {
+            html.append(skeleton.literals().get(i));
+            Slot slot = skeleton.slots().get(i);
+            Object value = variables.get(slot.name());
+            if (slot.separator() == null) {
+                appendEscaped(html, value);
+                continue;
+            }
+            List<?> items = (List<?>) value;
+            for (int item = 0; item < items.size(); item++) {
+                if (item > 0) {
+                    html.append(slot.separator());
+                }
+                appendEscaped(html, items.get(item));
+            }
+        }
+        html.append(skeleton.literals().get(skeleton.slots().size()));
+        return html.toString();
+    }
+
+    private Skeleton compile(Key key, Map<String, ?> variables) {
+        Map<String, Object> markers = new HashMap<>();
+        for (Map.Entry<String, ?> variable : variables.entrySet()) {
+            String name = variable.getKey();
+            markers.put(name, variable.getValue() instanceof List<?>
+                    ? List.of("{{" + name + ".0}}", "{{" + name + ".1}}")
+                    : "{{" + name + "}}");
+        }
+        String rendered = templateEngine.process(key.template(), context(key, markers));
+
+        List<String> literals = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        Matcher matcher = MARKER.matcher(rendered);
+        int position = 0;
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            String item = matcher.group(2);
+            if (!variables.containsKey(name)) {
+                throw new IllegalStateException("Template " + key.template() + " contains an unknown marker " +
+                        matcher.group());
+            }
+            if ("1".equals(item)) {
+                // The text since the first item's marker separates consecutive items
+                Slot first = slots.remove(slots.size() - 1);
+                slots.add(new Slot(first.name(), rendered.substring(position, matcher.start())));
+            } else {
+                literals.add(rendered.substring(position, matcher.start()));
+                slots.add(new Slot(name, null));
+            }
+            position = matcher.end();
+        }
+        literals.add(rendered.substring(position));
+
+        int length = literals.stream().mapToInt(String::length).sum();
+        log.debug("Compiled email template {} for {} into {} slots", key.template(), key.locale(), slots.size());
+        return new Skeleton(List.copyOf(variables.keySet()), literals, slots, length);
+    }
+
+    private Context context(Key key, Map<String, ?> variables) {
+        Context context = new Context(key.locale());
+        context.setVariable("supportEmail", supportEmail);
+        context.setVariable("year", key.year());
+        variables.forEach(context::setVariable);
+        return context;
+    }
+
+    private static void appendEscaped(StringBuilder html, Object value) {
+        if (value != null) {
+            html.append(HtmlUtils.htmlEscape(value.toString(), "UTF-8"));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.spring.fortress.vehicles.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.fortress.vehicles.enums.ExportDataset;
+import com.spring.fortress.vehicles.enums.ExportFormat;
+import com.spring.fortress.vehicles.interfaces.ExportInterface;
+import com.spring.fortress.vehicles.utils.CsvFields;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Service for bulk exports of the vehicle, plate, owner and transfer tables.
+ * <p>
+ * Rows are streamed from MySQL through a forward-only cursor and written to the output as they arrive, so an
+ * export holds one row in memory whatever the size of the table. Each running export keeps one pooled
+ * connection for its whole duration. Columns are read straight from the tables, with no entities loaded; the
+ * password and verification code of owners are never exported.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class ExportService implements ExportInterface {
+
+    private static final String VEHICLES_SQL =
+            "SELECT v.id, v.chassis_number, v.manufacturer, v.manufactured_year, v.price, v.model_name, "
+                    + "v.owner_id, p.plate_number FROM vehicles v LEFT JOIN plates p ON p.vehicle_id = v.id "
+                    + "ORDER BY v.id";
+    private static final String PLATES_SQL =
+            "SELECT id, plate_number, status, issued_date, owner_id, vehicle_id FROM plates ORDER BY id";
+    private static final String OWNERS_SQL =
+            "SELECT o.id, o.user_id, u.first_name, u.last_name, u.email, u.mobile, u.national_id, u.status "
+                    + "FROM owners o JOIN users u ON u.id = o.user_id ORDER BY o.id";
+    private static final String TRANSFERS_SQL =
+            "SELECT t.id, t.issued_date, t.vehicle_id, v.chassis_number, t.old_owner_id, t.new_owner_id, "
+                    + "t.amount FROM transfers t JOIN vehicles v ON v.id = t.vehicle_id ORDER BY t.id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the whole result
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void export(ExportDataset dataset, ExportFormat format, OutputStream output) throws IOException {
+        String sql = switch (dataset) {
+            case VEHICLES -> VEHICLES_SQL;
+            case PLATES -> PLATES_SQL;
+            case OWNERS -> OWNERS_SQL;
+            case TRANSFERS -> TRANSFERS_SQL;
+        };
+        long rows;
+        try {
+            rows = streamingJdbcTemplate.query(sql, rs -> {
+                try {
+                    return format == ExportFormat.CSV ? writeCsv(rs, output) : writeNdjson(rs, output);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} {} rows as {}", rows, dataset, format);
+    }
+
+    private static long writeCsv(ResultSet rs, OutputStream output) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columns = metaData.getColumnCount();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            writer.write(metaData.getColumnLabel(i));
+        }
+        writer.write('\n');
+        long rows = 0;
+        while (rs.next()) {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = rs.getObject(i);
+                if (value instanceof String string) {
+                    CsvFields.writeText(writer, string);
+                } else {
+                    CsvFields.writeValue(writer, text(value));
+                }
+            }
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(ResultSet rs, OutputStream output) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columns = metaData.getColumnCount();
+        String[] labels = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Root values are separated by the newline written after each row rather than the default space
+        generator.setRootValueSeparator(null);
+        long rows = 0;
+        while (rs.next()) {
+            generator.writeStartObject();
+            for (int i = 0; i < columns; i++) {
+                generator.writeFieldName(labels[i]);
+                Object value = rs.getObject(i + 1);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Number) {
+                    generator.writeNumber(value.toString());
+                } else if (value instanceof Boolean flag) {
+                    generator.writeBoolean(flag);
+                } else {
+                    generator.writeString(text(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            rows++;
+        }
+        generator.close();
+        return rows;
+    }
+
+    /**
+     * Formats a column value; dates and times use ISO-8601.
+     */
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate().toString();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,561 @@
+package com.spring.fortress.vehicles.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory ledger of meter balance credits with write-behind to the METER table.
+ * <p>
+ * Credits are applied to one of a fixed number of shards chosen by meter number, each guarded by its own
+ * lock, so concurrent redemptions for different meters never contend on the same lock and redemptions for
+ * a busy meter never contend on its METER row. Every credit is first appended to the shard's journal
+ * segment and then aggregated per meter in memory. A scheduled flush seals the current segment, writes the
+ * aggregated deltas with one batched UPDATE per shard and records the sealed segment in
+ * {@code METER_LEDGER_CHECKPOINT} in the same transaction. On startup, segments newer than the checkpoint
+ * are replayed.
+ * </p>
+ * <p>
+ * Each credit belongs to a redeemed token, which is marked {@code credit_pending} in the transaction that
+ * redeems it. The flush clears that flag with a conditional UPDATE in the same transaction as the balance
+ * change, and only credits the tokens whose flag it cleared, so a token is credited exactly once however
+ * often it is journaled. A periodic reconciliation journals again every token still pending after a grace
+ * period, which recovers credits lost between the redemption commit and the journal write, or left in the
+ * journal of a node that never came back.
+ * </p>
+ * <p>
+ * Journals and checkpoints are kept per node, under {@code journal-dir/node-id}. The node id defaults to the
+ * host name, so replicas sharing a volume never replay or delete each other's segments.
+ * </p>
+ * <p>
+ * Amounts are kept in hundredths of a unit, matching the two decimals encoded in tokens.
+ * </p>
+ * <p>
+ * The ledger applies credits only. Nothing in the application draws units from a meter yet, and a debit has
+ * no token to claim, so it would need its own idempotency key before it could be journaled and flushed
+ * exactly once. Debits are left to the change that introduces their first caller.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class MeterBalanceLedger {
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE METER SET balance = balance + ?, last_top_up = COALESCE(?, last_top_up) WHERE meter_number = ?";
+    private static final String UPSERT_CHECKPOINT_SQL =
+            "INSERT INTO METER_LEDGER_CHECKPOINT (ledger_key, last_segment, updated_at) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE last_segment = VALUES(last_segment), updated_at = VALUES(updated_at)";
+    private static final String SELECT_CHECKPOINT_SQL =
+            "SELECT last_segment FROM METER_LEDGER_CHECKPOINT WHERE ledger_key = ?";
+    private static final String CLAIM_CREDIT_SQL =
+            "UPDATE TOKEN SET credit_pending = FALSE WHERE id = ? AND credit_pending = TRUE";
+    private static final String SELECT_UNCREDITED_SQL =
+            "SELECT t.id, m.meter_number, t.units, t.redeemed_at FROM TOKEN t JOIN METER m ON m.id = t.meter_id " +
+            "WHERE t.credit_pending = TRUE AND t.redeemed_at < ? ORDER BY t.id LIMIT ?";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long NO_TOP_UP = 0L;
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path journalDir;
+    private final String nodeId;
+    private final boolean fsync;
+    private final Duration reconcileGrace;
+    private final Shard[] shards;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public MeterBalanceLedger(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${electricity.ledger.shards:16}") int shardCount,
+                              @Value("${electricity.ledger.journal-dir:data/ledger}") String journalDir,
+                              @Value("${electricity.ledger.node-id:}") String nodeId,
+                              @Value("${electricity.ledger.fsync:false}") boolean fsync,
+                              @Value("${electricity.ledger.reconcile-grace-ms:60000}") long reconcileGraceMs) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("electricity.ledger.shards must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeId.isBlank() ? hostName() : nodeId;
+        this.journalDir = Paths.get(journalDir, this.nodeId);
+        this.fsync = fsync;
+        this.reconcileGrace = Duration.ofMillis(reconcileGraceMs);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    /**
+     * The balance changes of a meter that are not yet reflected in the METER table.
+     *
+     * @param units     the net units pending for the meter
+     * @param lastTopUp the time of the latest pending credit, or {@code null} if none
+     */
+    public record PendingBalance(double units, LocalDateTime lastTopUp) {
+
+        /**
+         * A meter without pending changes.
+         */
+        public static final PendingBalance NONE = new PendingBalance(0.0, null);
+    }
+
+    /**
+     * Replays unflushed journal segments and opens a fresh segment for every shard.
+     *
+     * @throws IOException if the journal directory cannot be read
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        Files.createDirectories(journalDir);
+        int replayed = 0;
+        for (Shard shard : shards) {
+            replayed += shard.recover();
+        }
+        log.info("Meter balance ledger {} ready with {} shards in {}, replayed {} journal entries",
+                nodeId, shards.length, journalDir.toAbsolutePath(), replayed);
+    }
+
+    /**
+     * Credits the units of a redeemed token to its meter.
+     *
+     * @param tokenId     the ID of the redeemed token, whose {@code credit_pending} flag is set
+     * @param meterNumber the meter number
+     * @param units       the units to add, must be zero or positive
+     * @param toppedUpAt  the time of the top-up, in UTC
+     * @return {@code false} if the token's credit was already pending in this ledger
+     * @throws UncheckedIOException if the change cannot be written to the journal
+     */
+    public boolean credit(long tokenId, String meterNumber, double units, LocalDateTime toppedUpAt) {
+        if (!(units >= 0) || Double.isInfinite(units)) {
+            throw new IllegalArgumentException("Credit must be a finite, non-negative number of units");
+        }
+        return shardFor(meterNumber).append(new Entry(tokenId, meterNumber, toHundredths(units),
+                toppedUpAt.toEpochSecond(ZoneOffset.UTC)));
+    }
+
+    /**
+     * Returns the changes of a meter that have not been written to the METER table yet,
+     * including those of a flush that is still in progress.
+     *
+     * @param meterNumber the meter number
+     * @return the pending changes, or {@link PendingBalance#NONE}
+     */
+    public PendingBalance pending(String meterNumber) {
+        return shardFor(meterNumber).pending(meterNumber);
+    }
+
+    /**
+     * Writes the aggregated deltas of every shard to the METER table.
+     * A shard whose write fails keeps its deltas and journal segments and is retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${electricity.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            int meters = 0;
+            for (Shard shard : shards) {
+                meters += shard.flush();
+            }
+            if (meters > 0) {
+                log.debug("Flushed balance deltas for {} meters", meters);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Journals the credit of every token redeemed more than the grace period ago that is still not reflected
+     * in the METER table. Runs at startup and then periodically.
+     */
+    @Scheduled(fixedDelayString = "${electricity.ledger.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC).minus(reconcileGrace));
+        List<Entry> uncredited = jdbcTemplate.query(SELECT_UNCREDITED_SQL, (rs, rowNum) -> new Entry(
+                rs.getLong(1), rs.getString(2), toHundredths(rs.getDouble(3)),
+                rs.getTimestamp(4).toLocalDateTime().toEpochSecond(ZoneOffset.UTC)), cutoff, RECONCILE_BATCH_SIZE);
+        int journaled = 0;
+        for (Entry entry : uncredited) {
+            if (shardFor(entry.meterNumber()).append(entry)) {
+                journaled++;
+            }
+        }
+        if (journaled > 0) {
+            log.warn("Reconciled {} redeemed tokens whose credit was missing from the ledger", journaled);
+        }
+    }
+
+    /**
+     * Flushes pending deltas and closes the journal with the application context.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        for (Shard shard : shards) {
+            shard.close();
+        }
+    }
+
+    private Shard shardFor(String meterNumber) {
+        return shards[Math.floorMod(meterNumber.hashCode(), shards.length)];
+    }
+
+    private static long toHundredths(double units) {
+        return Math.round(units * 100.0);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot derive electricity.ledger.node-id from the host name; set it", e);
+        }
+    }
+
+    /**
+     * One journaled credit.
+     */
+    private record Entry(long tokenId, String meterNumber, long hundredths, long topUp) {
+    }
+
+    /**
+     * Net change of one meter within a shard.
+     */
+    private static final class Delta {
+        private long hundredths;
+        private long lastTopUp = NO_TOP_UP;
+
+        private void add(long hundredths, long topUp) {
+            this.hundredths += hundredths;
+            this.lastTopUp = Math.max(this.lastTopUp, topUp);
+        }
+    }
+
+    /**
+     * One stripe of the ledger: its own lock, pending deltas and journal segments.
+     */
+    private final class Shard {
+        private final int index;
+        private final String ledgerKey;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Map<String, Delta> pending = new HashMap<>();
+        private Map<String, Delta> inFlight = Map.of();
+        private List<Entry> pendingEntries = new ArrayList<>();
+        private final Set<Long> pendingTokens = new HashSet<>();
+        private FileChannel journal;
+        private long segment;
+        private long oldestSegment;
+        private boolean dirty;
+
+        private Shard(int index) {
+            this.index = index;
+            this.ledgerKey = nodeId + "/" + index;
+        }
+
+        private int recover() throws IOException {
+            List<Long> checkpoints = jdbcTemplate.queryForList(SELECT_CHECKPOINT_SQL, Long.class, ledgerKey);
+            long checkpoint = checkpoints.isEmpty() ? -1L : checkpoints.get(0);
+
+            TreeSet<Long> segments = listSegments();
+            int replayed = 0;
+            for (long seq : segments) {
+                if (seq <= checkpoint) {
+                    Files.deleteIfExists(segmentPath(seq));
+                } else {
+                    replayed += replay(segmentPath(seq));
+                }
+            }
+
+            long last = Math.max(checkpoint, segments.isEmpty() ? -1L : segments.last());
+            oldestSegment = checkpoint + 1;
+            segment = last + 1;
+            journal = openSegment(segment);
+            return replayed;
+        }
+
+        private boolean append(Entry entry) {
+            String meterNumber = entry.meterNumber();
+            if (meterNumber.indexOf('\n') >= 0 || meterNumber.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException("Meter number must not contain line breaks");
+            }
+            byte[] line = (entry.tokenId() + "\t" + entry.hundredths() + "\t" + entry.topUp() + "\t"
+                    + meterNumber + "\n").getBytes(StandardCharsets.UTF_8);
+
+            lock.lock();
+            try {
+                if (pendingTokens.contains(entry.tokenId())) {
+                    return false;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    journal.write(buffer);
+                }
+                if (fsync) {
+                    journal.force(false);
+                }
+                queue(entry);
+                dirty = true;
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to journal balance change for meter " + meterNumber, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void queue(Entry entry) {
+            pending.computeIfAbsent(entry.meterNumber(), key -> new Delta()).add(entry.hundredths(), entry.topUp());
+            pendingEntries.add(entry);
+            pendingTokens.add(entry.tokenId());
+        }
+
+        private PendingBalance pending(String meterNumber) {
+            lock.lock();
+            try {
+                Delta queued = pending.get(meterNumber);
+                Delta flushing = inFlight.get(meterNumber);
+                if (queued == null && flushing == null) {
+                    return PendingBalance.NONE;
+                }
+                long hundredths = 0;
+                long topUp = NO_TOP_UP;
+                for (Delta delta : new Delta[]{queued, flushing}) {
+                    if (delta != null) {
+                        hundredths += delta.hundredths;
+                        topUp = Math.max(topUp, delta.lastTopUp);
+                    }
+                }
+                return new PendingBalance(hundredths / 100.0, toDateTime(topUp));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int flush() {
+            List<Entry> batch;
+            long sealedUpTo;
+
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                // Every journaled entry moves into the batch, so all segments before the new one are sealed
+                if (dirty) {
+                    rotate();
+                }
+                sealedUpTo = segment - 1;
+                batch = pendingEntries;
+                inFlight = pending;
+                pending = new HashMap<>();
+                pendingEntries = new ArrayList<>();
+            } catch (IOException e) {
+                log.error("Failed to rotate ledger journal for shard {}: {}", index, e.getMessage(), e);
+                return 0;
+            } finally {
+                lock.unlock();
+            }
+
+            int meters;
+            try {
+                meters = write(batch, sealedUpTo);
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush balance deltas of shard {}, will retry: {}", index, e.getMessage());
+                lock.lock();
+                try {
+                    batch.forEach(this::queue);
+                    inFlight = Map.of();
+                } finally {
+                    lock.unlock();
+                }
+                return 0;
+            }
+
+            lock.lock();
+            try {
+                inFlight = Map.of();
+                batch.forEach(entry -> pendingTokens.remove(entry.tokenId()));
+            } finally {
+                lock.unlock();
+            }
+            deleteSegmentsUpTo(sealedUpTo);
+            return meters;
+        }
+
+        /**
+         * Claims the credit of every token in the batch and applies the claimed credits, in one transaction.
+         *
+         * @return the number of meters whose balance changed
+         */
+        private int write(List<Entry> batch, long sealedUpTo) {
+            return transactionTemplate.execute(status -> {
+                List<Object[]> tokenIds = new ArrayList<>(batch.size());
+                for (Entry entry : batch) {
+                    tokenIds.add(new Object[]{entry.tokenId()});
+                }
+                int[] claimed = jdbcTemplate.batchUpdate(CLAIM_CREDIT_SQL, tokenIds);
+
+                Map<String, Delta> deltas = new HashMap<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    // Credited by another node or an earlier flush, or journaled twice: already in the balance
+                    if (claimed[i] == 0) {
+                        continue;
+                    }
+                    Entry entry = batch.get(i);
+                    deltas.computeIfAbsent(entry.meterNumber(), key -> new Delta())
+                            .add(entry.hundredths(), entry.topUp());
+                }
+
+                List<Object[]> rows = new ArrayList<>(deltas.size());
+                deltas.forEach((meterNumber, delta) -> rows.add(new Object[]{
+                        delta.hundredths / 100.0,
+                        delta.lastTopUp == NO_TOP_UP ? null : Timestamp.valueOf(toDateTime(delta.lastTopUp)),
+                        meterNumber
+                }));
+                int[] updated = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, rows);
+                for (int i = 0; i < updated.length; i++) {
+                    if (updated[i] == 0) {
+                        log.warn("Dropping balance delta for unknown meter {}", rows.get(i)[2]);
+                    }
+                }
+                jdbcTemplate.update(UPSERT_CHECKPOINT_SQL, ledgerKey, sealedUpTo,
+                        Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC)));
+                return rows.size();
+            });
+        }
+
+        private void rotate() throws IOException {
+            FileChannel next = openSegment(segment + 1);
+            journal.close();
+            journal = next;
+            segment++;
+            dirty = false;
+        }
+
+        private void deleteSegmentsUpTo(long sealedUpTo) {
+            for (long seq = oldestSegment; seq <= sealedUpTo; seq++) {
+                try {
+                    Files.deleteIfExists(segmentPath(seq));
+                } catch (IOException e) {
+                    // Already covered by the checkpoint, so a leftover file is skipped on replay
+                    log.warn("Failed to delete ledger segment {}: {}", segmentPath(seq), e.getMessage());
+                }
+            }
+            oldestSegment = sealedUpTo + 1;
+        }
+
+        private int replay(Path path) throws IOException {
+            String content = Files.readString(path, StandardCharsets.UTF_8);
+            int entries = 0;
+            int start = 0;
+            int end;
+            while ((end = content.indexOf('\n', start)) >= 0) {
+                String[] fields = content.substring(start, end).split("\t", 4);
+                try {
+                    if (fields.length != 4) {
+                        throw new IllegalArgumentException("Expected 4 fields, found " + fields.length);
+                    }
+                    Entry entry = new Entry(Long.parseLong(fields[0]), fields[3], Long.parseLong(fields[1]),
+                            Long.parseLong(fields[2]));
+                    if (!pendingTokens.contains(entry.tokenId())) {
+                        queue(entry);
+                    }
+                    entries++;
+                } catch (RuntimeException e) {
+                    log.warn("Skipping malformed ledger entry in {} at offset {}", path, start);
+                }
+                start = end + 1;
+            }
+            if (start < content.length()) {
+                // A write interrupted by a crash; it was never acknowledged
+                log.warn("Ignoring incomplete trailing ledger entry in {}", path);
+            }
+            return entries;
+        }
+
+        private TreeSet<Long> listSegments() throws IOException {
+            TreeSet<Long> segments = new TreeSet<>();
+            String prefix = segmentPrefix();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(journalDir, prefix + "*" + SEGMENT_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    try {
+                        segments.add(Long.parseLong(
+                                name.substring(prefix.length(), name.length() - SEGMENT_SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        log.warn("Ignoring unexpected file {} in ledger journal", file);
+                    }
+                }
+            }
+            return segments;
+        }
+
+        private FileChannel openSegment(long seq) throws IOException {
+            return FileChannel.open(segmentPath(seq),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        private Path segmentPath(long seq) {
+            return journalDir.resolve(segmentPrefix() + String.format("%012d", seq) + SEGMENT_SUFFIX);
+        }
+
+        private String segmentPrefix() {
+            return String.format("shard-%03d-", index);
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Failed to close ledger journal of shard {}: {}", index, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return epochSecond == NO_TOP_UP ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,148 @@
+package com.spring.fortress.vehicles.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Database-backed leases that let one node at a time run a scheduled job.
+ * <p>
+ * Every replica fires its {@code @Scheduled} methods; a job wrapped in {@link #runExclusively} only runs
+ * on the node that takes the lease in {@code SCHEDULER_LOCK}. Taking a lease is a single conditional
+ * UPDATE that succeeds only when the previous lease has ended, so exactly one node wins even if all of
+ * them fire at once. A finished run keeps the lease for at least {@code holdAtLeast} after it started,
+ * so nodes whose clocks tick a little later do not run the same tick again. A node that dies holding a
+ * lease blocks the job only until the lease ends. All times come from the database clock.
+ * </p>
+ * <p>
+ * Jobs whose work is split into shards take one lease per shard, so several nodes can work through
+ * different shards of the same tick.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class SchedulerLockService {
+
+    private static final String INSERT_LOCK_SQL =
+            "INSERT IGNORE INTO SCHEDULER_LOCK (lock_name, locked_until, locked_at, locked_by) " +
+            "VALUES (?, UTC_TIMESTAMP(6), UTC_TIMESTAMP(6), '')";
+    private static final String ACQUIRE_SQL =
+            "UPDATE SCHEDULER_LOCK SET locked_until = TIMESTAMPADD(MICROSECOND, ?, UTC_TIMESTAMP(6)), " +
+            "locked_at = UTC_TIMESTAMP(6), locked_by = ? WHERE lock_name = ? AND locked_until <= UTC_TIMESTAMP(6)";
+    private static final String EXTEND_SQL =
+            "UPDATE SCHEDULER_LOCK SET locked_until = TIMESTAMPADD(MICROSECOND, ?, UTC_TIMESTAMP(6)) " +
+            "WHERE lock_name = ? AND locked_by = ? AND locked_until > UTC_TIMESTAMP(6)";
+    private static final String RELEASE_SQL =
+            "UPDATE SCHEDULER_LOCK SET locked_until = " +
+            "GREATEST(UTC_TIMESTAMP(6), TIMESTAMPADD(MICROSECOND, ?, locked_at)) " +
+            "WHERE lock_name = ? AND locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final Set<String> knownLocks = ConcurrentHashMap.newKeySet();
+
+    public SchedulerLockService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Unique per process, so a restarted node never mistakes its predecessor's lease for its own
+        this.nodeId = hostName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * The name this node holds leases under.
+     *
+     * @return the node ID
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Takes the lease if no other node holds it.
+     *
+     * @param name  the lock name
+     * @param lease how long the lease lasts unless extended or released
+     * @return {@code true} if this node now holds the lease
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        if (knownLocks.add(name)) {
+            jdbcTemplate.update(INSERT_LOCK_SQL, name);
+        }
+        return jdbcTemplate.update(ACQUIRE_SQL, micros(lease), nodeId, name) == 1;
+    }
+
+    /**
+     * Extends a lease this node holds, for jobs that run longer than expected.
+     *
+     * @param name  the lock name
+     * @param lease the new lease, counted from now
+     * @return {@code false} if the lease was already lost to its end
+     */
+    public boolean extend(String name, Duration lease) {
+        return jdbcTemplate.update(EXTEND_SQL, micros(lease), name, nodeId) == 1;
+    }
+
+    /**
+     * Releases a lease this node holds, keeping it until {@code holdAtLeast} after it was taken.
+     *
+     * @param name        the lock name
+     * @param holdAtLeast the minimum time between taking the lease and another node taking it
+     */
+    public void release(String name, Duration holdAtLeast) {
+        jdbcTemplate.update(RELEASE_SQL, micros(holdAtLeast), name, nodeId);
+    }
+
+    /**
+     * Runs a task if this node takes the lease, and releases the lease afterwards.
+     *
+     * @param name        the lock name
+     * @param lease       the lease while the task runs
+     * @param holdAtLeast the minimum time the lease is kept after it was taken
+     * @param task        the task to run
+     * @return {@code true} if the task ran on this node
+     */
+    public boolean runExclusively(String name, Duration lease, Duration holdAtLeast, Runnable task) {
+        try {
+            if (!tryAcquire(name, lease)) {
+                log.debug("Skipping {}, another node holds the lease", name);
+                return false;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Skipping {}, failed to take the lease: {}", name, e.getMessage());
+            return false;
+        }
+        try {
+            task.run();
+            return true;
+        } finally {
+            try {
+                release(name, holdAtLeast);
+            } catch (DataAccessException e) {
+                // The lease still ends on its own
+                log.warn("Failed to release the lease on {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private static long micros(Duration duration) {
+        return duration.toNanos() / 1000;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.spring.fortress.vehicles.services;
+
+import com.spring.fortress.vehicles.dtos.request.TokenIssueRequest;
+import com.spring.fortress.vehicles.dtos.response.TokenIssueOutcome;
+import com.spring.fortress.vehicles.enums.TokenStatus;
+import com.spring.fortress.vehicles.models.Meter;
+import com.spring.fortress.vehicles.models.Token;
+import com.spring.fortress.vehicles.utils.ElectricityTokenUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Validates, signs and stores electricity tokens in batches.
+ * <p>
+ * This stage replaces the row-by-row MySQL triggers that {@code triggers.sql} used to define:
+ * </p>
+ * <ul>
+ *     <li>units validation ({@code check_token_units}) rejects individual requests before any SQL runs;</li>
+ *     <li>TID uniqueness ({@code check_token_tid}) is resolved with one indexed range query per batch instead of
+ *     a correlated {@code EXISTS} per row. Requests for a meter whose TID is taken are moved to its next free
+ *     second, and the unique {@code (meter_id, issued_at)} constraint guards against concurrent vendors;</li>
+ *     <li>expiry checking ({@code flag_expired_tokens}) rejects tokens that would be born expired;</li>
+ *     <li>the surviving tokens are written with a single batched INSERT.</li>
+ * </ul>
+ * <p>
+ * The balance credit and {@code TOKEN_AUDIT} entry that {@code update_meter_balance} and {@code log_token_usage}
+ * wrote on insert belong to redemption, where {@link ElectricityTokenService} and {@link MeterBalanceLedger}
+ * already perform them.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class TokenIssuancePipeline {
+
+    /**
+     * Number of days a vended token remains redeemable.
+     */
+    public static final int TOKEN_VALIDITY_DAYS = 30;
+
+    /**
+     * Number of times a batch is retried when a concurrent vendor takes one of its TIDs.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String SELECT_METERS_SQL =
+            "SELECT id, meter_number FROM METER WHERE meter_number IN (:meterNumbers)";
+    private static final String REGISTER_METER_SQL =
+            "INSERT IGNORE INTO METER (meter_number, balance, status, created_at) VALUES (?, 0, 'ACTIVE', ?)";
+    private static final String SELECT_TAKEN_TIDS_SQL =
+            "SELECT meter_id, tid FROM TOKEN WHERE meter_id IN (:meterIds) AND issued_at >= :from";
+    private static final String INSERT_TOKEN_SQL =
+            "INSERT INTO TOKEN (token_value, meter_id, units, tid, issued_at, expires_at, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ElectricityTokenUtil electricityTokenUtil;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TokenIssuancePipeline(ElectricityTokenUtil electricityTokenUtil,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        this.electricityTokenUtil = electricityTokenUtil;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Issues a token for every valid request, in one transaction per attempt.
+     *
+     * @param requests the requests to issue
+     * @return one outcome per request, in request order
+     */
+    public List<TokenIssueOutcome> issue(List<TokenIssueRequest> requests) {
+        TokenIssueOutcome[] rejected = new TokenIssueOutcome[requests.size()];
+        List<Integer> accepted = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error != null) {
+                rejected[i] = TokenIssueOutcome.failure(requests.get(i), error);
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return Arrays.asList(rejected);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> store(requests, accepted, rejected.clone()));
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    log.warn("Giving up on token batch of {} after {} TID conflicts", accepted.size(), attempt);
+                    TokenIssueOutcome[] failed = rejected.clone();
+                    for (int position : accepted) {
+                        failed[position] = TokenIssueOutcome.failure(requests.get(position), "Duplicate TID detected");
+                    }
+                    return Arrays.asList(failed);
+                }
+                log.debug("TID conflict with a concurrent vendor, retrying token batch (attempt {})", attempt);
+            }
+        }
+    }
+
+    private String validate(TokenIssueRequest request) {
+        if (request.meterNumber() == null || request.meterNumber().trim().isEmpty()) {
+            return "Meter number is required";
+        }
+        if (!(request.units() > 0) || Double.isInfinite(request.units())) {
+            return "Units must be greater than 0";
+        }
+        return null;
+    }
+
+    private List<TokenIssueOutcome> store(List<TokenIssueRequest> requests, List<Integer> accepted,
+                                          TokenIssueOutcome[] outcomes) {
+        Set<String> meterNumbers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (int position : accepted) {
+            meterNumbers.add(requests.get(position).meterNumber());
+        }
+        Map<String, Long> meterIds = resolveMeters(meterNumbers);
+
+        long baseTid = electricityTokenUtil.currentTid();
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        Map<Long, Set<Long>> takenTids = loadTakenTids(meterIds.values(), baseTid);
+
+        List<Integer> positions = new ArrayList<>(accepted.size());
+        List<Token> tokens = new ArrayList<>(accepted.size());
+        for (int position : accepted) {
+            TokenIssueRequest request = requests.get(position);
+            Long meterId = meterIds.get(request.meterNumber());
+
+            long tid = baseTid;
+            Set<Long> taken = takenTids.computeIfAbsent(meterId, id -> new HashSet<>());
+            while (!taken.add(tid)) {
+                tid++;
+            }
+
+            LocalDateTime issuedAt = electricityTokenUtil.tidToDateTime(tid);
+            LocalDateTime expiresAt = issuedAt.plusDays(TOKEN_VALIDITY_DAYS);
+            if (!expiresAt.isAfter(now)) {
+                outcomes[position] = TokenIssueOutcome.failure(request, "Token is already expired");
+                continue;
+            }
+
+            positions.add(position);
+            tokens.add(Token.builder()
+                    .tokenValue(electricityTokenUtil.generateToken(request.meterNumber(), request.units(), tid))
+                    .meter(Meter.builder().id(meterId).meterNumber(request.meterNumber()).build())
+                    .units(request.units())
+                    .tid(tid)
+                    .issuedAt(issuedAt)
+                    .expiresAt(expiresAt)
+                    .status(TokenStatus.ISSUED)
+                    .build());
+        }
+
+        insert(tokens);
+        for (int i = 0; i < tokens.size(); i++) {
+            int position = positions.get(i);
+            outcomes[position] = TokenIssueOutcome.success(requests.get(position), tokens.get(i));
+        }
+        log.debug("Issued {} tokens for {} meters", tokens.size(), meterIds.size());
+        return Arrays.asList(outcomes);
+    }
+
+    private Map<String, Long> resolveMeters(Set<String> meterNumbers) {
+        Map<String, Long> meterIds = selectMeters(meterNumbers);
+        if (meterIds.size() < meterNumbers.size()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+            List<Object[]> missing = new ArrayList<>();
+            for (String meterNumber : meterNumbers) {
+                if (!meterIds.containsKey(meterNumber)) {
+                    missing.add(new Object[]{meterNumber, now});
+                }
+            }
+            jdbcTemplate.batchUpdate(REGISTER_METER_SQL, missing);
+            log.info("Registered {} new meters", missing.size());
+            meterIds = selectMeters(meterNumbers);
+        }
+        return meterIds;
+    }
+
+    private Map<String, Long> selectMeters(Set<String> meterNumbers) {
+        // Case-insensitive like the column's collation, so a request always finds its stored meter
+        Map<String, Long> meterIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        namedJdbcTemplate.query(SELECT_METERS_SQL,
+                new MapSqlParameterSource("meterNumbers", meterNumbers),
+                rs -> {
+                    meterIds.put(rs.getString("meter_number"), rs.getLong("id"));
+                });
+        return meterIds;
+    }
+
+    private Map<Long, Set<Long>> loadTakenTids(Iterable<Long> meterIds, long fromTid) {
+        Set<Long> ids = new HashSet<>();
+        meterIds.forEach(ids::add);
+        Map<Long, Set<Long>> taken = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_TAKEN_TIDS_SQL,
+                new MapSqlParameterSource("meterIds", ids)
+                        .addValue("from", Timestamp.valueOf(electricityTokenUtil.tidToDateTime(fromTid))),
+                rs -> {
+                    taken.computeIfAbsent(rs.getLong("meter_id"), id -> new HashSet<>()).add(rs.getLong("tid"));
+                });
+        return taken;
+    }
+
+    private void insert(List<Token> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TOKEN_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Token token = tokens.get(i);
+                        ps.setString(1, token.getTokenValue());
+                        ps.setLong(2, token.getMeter().getId());
+                        ps.setDouble(3, token.getUnits());
+                        ps.setLong(4, token.getTid());
+                        ps.setTimestamp(5, Timestamp.valueOf(token.getIssuedAt()));
+                        ps.setTimestamp(6, Timestamp.valueOf(token.getExpiresAt()));
+                        ps.setString(7, token.getStatus().name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return tokens.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() == tokens.size()) {
+            for (int i = 0; i < tokens.size(); i++) {
+                tokens.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+            }
+        }
+    }
+}
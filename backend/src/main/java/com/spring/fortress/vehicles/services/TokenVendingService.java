@@ -0,0 +1,249 @@
+package com.spring.fortress.vehicles.services;
+
+import com.spring.fortress.vehicles.dtos.request.TokenBatchItem;
+import com.spring.fortress.vehicles.dtos.request.TokenIssueRequest;
+import com.spring.fortress.vehicles.dtos.response.TokenBatchResult;
+import com.spring.fortress.vehicles.dtos.response.TokenIssueOutcome;
+import com.spring.fortress.vehicles.interfaces.ElectricityTokenInterface;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for bulk electricity token vending.
+ * <p>
+ * Items are read lazily from the caller's iterator, grouped into small chunks and issued in parallel
+ * on a dedicated pool sized to the available cores. Each chunk goes through the token issuance pipeline
+ * as one batch, so its tokens are stored before its results are released and every token handed out is
+ * redeemable. Results are handed back chunk by chunk as soon as they complete, so a large batch never has
+ * to be held in memory, and each item that fails validation or issuance yields its own error result
+ * instead of failing the batch.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class TokenVendingService {
+
+    /**
+     * Number of items generated by a single pool task.
+     */
+    private static final int CHUNK_SIZE = 64;
+
+    private final ElectricityTokenInterface electricityTokenService;
+    private final ExecutorService executor;
+    private final int maxInFlightChunks;
+    private final int maxItems;
+
+    public TokenVendingService(ElectricityTokenInterface electricityTokenService,
+                               @Value("${electricity.batch.parallelism:0}") int parallelism,
+                               @Value("${electricity.batch.max-items:10000}") int maxItems) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.electricityTokenService = electricityTokenService;
+        this.executor = Executors.newFixedThreadPool(threads, namedDaemonThreads());
+        this.maxInFlightChunks = threads * 2;
+        this.maxItems = maxItems;
+        log.info("Token vending pool initialized with {} threads, max {} items per batch", threads, maxItems);
+    }
+
+    /**
+     * Receives vending results as they are produced.
+     */
+    @FunctionalInterface
+    public interface ResultSink {
+
+        /**
+         * Accepts the results of one completed chunk of items.
+         *
+         * @param results the results, in input order within the chunk
+         * @throws IOException if the results cannot be delivered (e.g. the client disconnected)
+         */
+        void accept(List<TokenBatchResult> results) throws IOException;
+    }
+
+    /**
+     * Generates tokens for every item of a batch and streams the results to {@code sink}.
+     * Reading stops at the first malformed item or once the configured item limit is exceeded;
+     * both cases are reported as an error result.
+     *
+     * @param items the batch items, typically backed by a streaming JSON parser
+     * @param sink  the destination for results
+     * @return the number of results delivered
+     * @throws IOException if the sink fails or the calling thread is interrupted
+     */
+    public int vendBatch(Iterator<TokenBatchItem> items, ResultSink sink) throws IOException {
+        long start = System.nanoTime();
+        CompletionService<List<TokenBatchResult>> completion = new ExecutorCompletionService<>(executor);
+        Counts counts = new Counts();
+        int inFlight = 0;
+        int index = 0;
+        List<IndexedItem> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        while (true) {
+            TokenBatchItem item;
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+                item = items.next();
+            } catch (RuntimeException e) {
+                log.warn("Stopping token batch at item {}: {}", index, e.getMessage());
+                deliver(sink, counts, List.of(TokenBatchResult.failure(index, null, null,
+                        "Malformed batch item: " + e.getMessage())));
+                break;
+            }
+
+            if (index >= maxItems) {
+                deliver(sink, counts, List.of(TokenBatchResult.failure(index, null, null,
+                        "Batch exceeds the maximum of " + maxItems + " items; remaining items were not processed")));
+                break;
+            }
+
+            chunk.add(new IndexedItem(index++, item));
+            if (chunk.size() == CHUNK_SIZE) {
+                if (inFlight == maxInFlightChunks) {
+                    deliver(sink, counts, takeCompleted(completion));
+                    inFlight--;
+                }
+                completion.submit(vendChunk(chunk));
+                inFlight++;
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            completion.submit(vendChunk(chunk));
+            inFlight++;
+        }
+        while (inFlight > 0) {
+            deliver(sink, counts, takeCompleted(completion));
+            inFlight--;
+        }
+
+        log.info("Vended token batch of {} items ({} failed) in {} ms",
+                counts.delivered, counts.failed, (System.nanoTime() - start) / 1_000_000);
+        return counts.delivered;
+    }
+
+    /**
+     * Shuts the vending pool down with the application context.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Callable<List<TokenBatchResult>> vendChunk(List<IndexedItem> chunk) {
+        return () -> {
+            TokenBatchResult[] results = new TokenBatchResult[chunk.size()];
+            List<TokenIssueRequest> requests = new ArrayList<>(chunk.size());
+            List<Integer> positions = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                IndexedItem indexed = chunk.get(i);
+                TokenBatchResult rejection = validate(indexed.index(), indexed.item());
+                if (rejection != null) {
+                    results[i] = rejection;
+                } else {
+                    requests.add(new TokenIssueRequest(indexed.index(), indexed.item().meterNumber(),
+                            indexed.item().units()));
+                    positions.add(i);
+                }
+            }
+
+            List<TokenIssueOutcome> outcomes = issue(requests);
+            for (int i = 0; i < outcomes.size(); i++) {
+                results[positions.get(i)] = outcomes.get(i).toBatchResult();
+            }
+            return Arrays.asList(results);
+        };
+    }
+
+    private TokenBatchResult validate(int index, TokenBatchItem item) {
+        if (item == null) {
+            return TokenBatchResult.failure(index, null, null, "Item is required");
+        }
+        String meterNumber = item.meterNumber();
+        Double units = item.units();
+        if (meterNumber == null || meterNumber.trim().isEmpty()) {
+            return TokenBatchResult.failure(index, meterNumber, units, "Meter number is required");
+        }
+        if (units == null || !(units > 0)) {
+            return TokenBatchResult.failure(index, meterNumber, units, "Units must be greater than 0");
+        }
+        return null;
+    }
+
+    private List<TokenIssueOutcome> issue(List<TokenIssueRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return electricityTokenService.issueTokens(requests);
+        } catch (RuntimeException e) {
+            log.error("Failed to issue token batch chunk: {}", e.getMessage(), e);
+            List<TokenIssueOutcome> failed = new ArrayList<>(requests.size());
+            for (TokenIssueRequest request : requests) {
+                failed.add(TokenIssueOutcome.failure(request, "Failed to issue token: " + e.getMessage()));
+            }
+            return failed;
+        }
+    }
+
+    private List<TokenBatchResult> takeCompleted(CompletionService<List<TokenBatchResult>> completion)
+            throws IOException {
+        try {
+            return completion.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for token batch results");
+        } catch (ExecutionException e) {
+            // vendChunk never throws, so this indicates a programming error
+            throw new IllegalStateException("Token batch chunk failed", e.getCause());
+        }
+    }
+
+    private void deliver(ResultSink sink, Counts counts, List<TokenBatchResult> results) throws IOException {
+        sink.accept(results);
+        counts.delivered += results.size();
+        for (TokenBatchResult result : results) {
+            if (!result.success()) {
+                counts.failed++;
+            }
+        }
+    }
+
+    private static ThreadFactory namedDaemonThreads() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "token-vend-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record IndexedItem(int index, TokenBatchItem item) {
+    }
+
+    private static final class Counts {
+        private int delivered;
+        private int failed;
+    }
+}
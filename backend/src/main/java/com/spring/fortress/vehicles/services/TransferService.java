@@ -89,7 +89,7 @@ public class TransferService implements TransferInterface {
                     .orElse(null);
 
             emailService.sendTransferNotification(oldOwnerEmail, newOwnerEmail, vehicle);
-            log.info("Transfer notifications sent successfully for vehicle ID: {}", req.vehicleId());
+            log.info("Transfer notifications queued for vehicle ID: {}", req.vehicleId());
         } catch (Exception e) {
             log.error("Failed to send transfer notifications: {}", e.getMessage());
         }
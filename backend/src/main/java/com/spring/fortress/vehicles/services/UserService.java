@@ -6,18 +6,24 @@ import com.spring.fortress.vehicles.dtos.response.JwtTokenResponse;
 import com.spring.fortress.vehicles.dtos.response.VerificationResponse;
 import com.spring.fortress.vehicles.enums.Account;
 import com.spring.fortress.vehicles.enums.Role;
+import com.spring.fortress.vehicles.exceptions.PasswordHashingUnavailableException;
 import com.spring.fortress.vehicles.exceptions.VerificationException;
 import com.spring.fortress.vehicles.interfaces.UserInterface;
 import com.spring.fortress.vehicles.models.User;
 import com.spring.fortress.vehicles.repositories.UserRepository;
+import com.spring.fortress.vehicles.security.MyUserPrincipal;
+import com.spring.fortress.vehicles.security.PrincipalCache;
 import com.spring.fortress.vehicles.utils.JwtUtil;
 import com.spring.fortress.vehicles.utils.VerificationUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -43,6 +49,7 @@ public class UserService implements UserInterface {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     // Password strength regex: at least 8 characters, 1 uppercase, 1 lowercase, 1 digit, 1 special character
     private static final Pattern PASSWORD_PATTERN = Pattern.compile(
@@ -112,6 +119,7 @@ public class UserService implements UserInterface {
         user.setVerificationCode(verificationCode);
         user.setCodeExpirationTime(expirationTime);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
 
         // Send activation email
         AccountActivationRequest activationRequest = new AccountActivationRequest(
@@ -122,7 +130,7 @@ public class UserService implements UserInterface {
         );
 
         emailService.sendActivateAccountEmail(activationRequest);
-        log.info("Activation email sent to: {}", email);
+        log.info("Activation email queued for: {}", email);
     }
 
     /**
@@ -165,6 +173,7 @@ public class UserService implements UserInterface {
         user.setVerificationCode(null);
         user.setCodeExpirationTime(null);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
 
         // Send confirmation email
         VerificationResponse response = new VerificationResponse(user.getEmail(), user.getFullName());
@@ -239,6 +248,7 @@ public class UserService implements UserInterface {
         user.setVerificationCode(null);
         user.setCodeExpirationTime(null);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
 
         // Send confirmation email
         VerificationResponse response = new VerificationResponse(user.getEmail(), user.getFullName());
@@ -262,8 +272,9 @@ public class UserService implements UserInterface {
             throw new IllegalArgumentException("Invalid role: " + req.role());
         }
 
-        // Save the updated user to the database
+        // Save the updated user to the database and drop the principal carrying the old role
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
 
         return "User with email: " + req.email() + " now has role: " + req.role();
     }
@@ -279,27 +290,24 @@ public class UserService implements UserInterface {
     public JwtTokenResponse login(@Valid LoginRequest request) {
         log.info("Processing login for email: {}", request.email());
 
-        User user = userRepository.findByEmail(request.email())
-                .orElseThrow(() -> {
-                    log.warn("Invalid email: {}", request.email());
-                    return new IllegalStateException("Invalid email or password");
-                });
-
-        // Verify password
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
-            log.warn("Invalid password for email: {}", request.email());
-            throw new IllegalStateException("Invalid email or password");
-        }
-
-        // Check account status
-        if (user.getStatus() != Account.ACTIVE) {
+        // One lookup and one password verification; account status is checked only after the password
+        Authentication auth;
+        try {
+            auth = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.email(), request.password()));
+        } catch (InternalAuthenticationServiceException e) {
+            // A failed lookup, such as a database outage, is not a bad password
+            throw e;
+        } catch (DisabledException e) {
             log.warn("Account not verified for email: {}", request.email());
             throw new IllegalStateException("Account not verified. Please activate your account first");
+        } catch (AuthenticationException e) {
+            log.warn("Invalid email or password for email: {}", request.email());
+            throw new IllegalStateException("Invalid email or password");
         }
 
-        // Authenticate and generate JWT
-        Authentication auth = new UsernamePasswordAuthenticationToken(user.getEmail(), request.password());
-        authenticationManager.authenticate(auth);
+        User user = ((MyUserPrincipal) auth.getPrincipal()).user();
+        rehashIfOutdated(user, request.password());
         String token = JwtUtil.createToken(
                 jwtConfig.getSecretKey(),
                 user.getEmail(),
@@ -310,4 +318,26 @@ public class UserService implements UserInterface {
         log.info("Successful login for email: {}", request.email());
         return new JwtTokenResponse(token);
     }
-}
\ No newline at end of file
+
+    /**
+     * Rehashes a verified password whose stored hash was made under a different hashing policy,
+     * in either direction. Failing to rehash does not fail the login; the next login tries again.
+     *
+     * @param user        the user who just signed in
+     * @param rawPassword the password they signed in with
+     */
+    private void rehashIfOutdated(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+        try {
+            if (userRepository.rehashPassword(user.getId(), currentHash, passwordEncoder.encode(rawPassword)) == 1) {
+                principalCache.invalidate(user.getEmail());
+                log.info("Rehashed password for email: {} under the current policy", user.getEmail());
+            }
+        } catch (PasswordHashingUnavailableException e) {
+            log.debug("Skipped password rehash for email: {} while hashing is saturated", user.getEmail());
+        }
+    }
+}
@@ -0,0 +1,514 @@
+package com.spring.fortress.vehicles.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the chassis number, manufacturer and model name of every vehicle.
+ * <p>
+ * Field values are split into lower-case alphanumeric terms. A sorted term dictionary maps each term to the
+ * vehicles containing it and answers exact and prefix lookups. A trigram index over the terms finds the
+ * candidates for infix lookups, where a query term of 3 characters or more appears inside a term (a partial
+ * chassis number), and for fuzzy lookups, which are then checked by edit distance: one edit for query terms of
+ * 4 to 7 characters, two from 8 on, none for shorter ones. Every query term must match a term of the vehicle;
+ * exact matches rank above prefix matches, then infix matches, then fuzzy ones. A single query term collects at
+ * most {@code vehicles.search.max-candidates} vehicles, so very broad terms are truncated.
+ * </p>
+ * <p>
+ * The index is built from the VEHICLES table in the background at startup; {@link #isReady()} is
+ * {@code false} until then. Vehicles saved on this node are added after their transaction commits, and every
+ * {@code vehicles.search.refresh-interval-ms} the table is polled for IDs past the highest one indexed, which
+ * picks up vehicles registered on other nodes. The poll starts {@code vehicles.search.lookback-ids} below that
+ * ID, so rows committed out of ID order are not skipped. The index keeps the terms of each vehicle, so
+ * indexing a vehicle again with changed fields moves it from its old terms to its new ones. Vehicles updated on
+ * other nodes below the polled range keep their old terms until this node saves them, so callers re-check
+ * candidates against the database row with {@link #matches}.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Service
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class VehicleSearchIndex {
+
+    private static final int INFIX_LENGTH = 3;
+    private static final int ONE_EDIT_LENGTH = 4;
+    private static final int TWO_EDIT_LENGTH = 8;
+
+    private static final int EXACT_SCORE = 4;
+    private static final int PREFIX_SCORE = 3;
+    private static final int INFIX_SCORE = 2;
+    private static final int FUZZY_SCORE = 1;
+    private static final int POLL_BATCH_SIZE = 1000;
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT id, chassis_number, manufacturer, model_name FROM vehicles ORDER BY id";
+    private static final String SELECT_AFTER_SQL =
+            "SELECT id, chassis_number, manufacturer, model_name FROM vehicles WHERE id > ? ORDER BY id LIMIT ?";
+
+    /**
+     * A term of the dictionary and the vehicles containing it.
+     */
+    private static final class Term {
+        final String text;
+        long[] vehicles = new long[2];
+        int size;
+
+        Term(String text) {
+            this.text = text;
+        }
+
+        void add(long vehicleId) {
+            if (size == vehicles.length) {
+                vehicles = Arrays.copyOf(vehicles, size * 2);
+            }
+            vehicles[size++] = vehicleId;
+        }
+
+        void remove(long vehicleId) {
+            for (int i = 0; i < size; i++) {
+                if (vehicles[i] == vehicleId) {
+                    System.arraycopy(vehicles, i + 1, vehicles, i, --size - i);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A growable list of term IDs.
+     */
+    private static final class TermIds {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int termId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = termId;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final int maxCandidates;
+    private final long lookbackIds;
+    private final ExecutorService loader;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Term> dictionary = new TreeMap<>();
+    private final List<Term> terms = new ArrayList<>();
+    private final Map<Long, TermIds> trigrams = new HashMap<>();
+    private final Map<Long, String[]> vehicleTerms = new HashMap<>();
+    private long highestId;
+    private volatile boolean ready;
+
+    public VehicleSearchIndex(JdbcTemplate jdbcTemplate,
+                              @Value("${vehicles.search.max-candidates:10000}") int maxCandidates,
+                              @Value("${vehicles.search.lookback-ids:1000}") long lookbackIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the whole result
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.maxCandidates = maxCandidates;
+        this.lookbackIds = lookbackIds;
+        this.loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vehicle-search-load");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts building the index in the background.
+     */
+    @PostConstruct
+    public void start() {
+        loader.execute(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.error("Failed to build the vehicle search index: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Stops the background loader with the application context.
+     */
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * Indexes every vehicle in the table and marks the index ready.
+     */
+    public void load() {
+        long start = System.nanoTime();
+        long[] rows = {0};
+        streamingJdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+            add(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+            rows[0]++;
+        });
+        ready = true;
+        log.info("Indexed {} vehicles ({} distinct terms) for search in {} ms",
+                rows[0], termCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Indexes vehicles registered since the last poll, including those saved on other nodes.
+     */
+    @Scheduled(fixedDelayString = "${vehicles.search.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        long after;
+        lock.readLock().lock();
+        try {
+            after = Math.max(0, highestId - lookbackIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+        int fetched;
+        do {
+            List<Object[]> rows = jdbcTemplate.query(SELECT_AFTER_SQL, (rs, rowNum) -> new Object[]{
+                    rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)}, after, POLL_BATCH_SIZE);
+            for (Object[] row : rows) {
+                add((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+                after = (Long) row[0];
+            }
+            fetched = rows.size();
+        } while (fetched == POLL_BATCH_SIZE);
+    }
+
+    /**
+     * Tells whether the initial build has finished.
+     *
+     * @return {@code true} once every vehicle present at startup is indexed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds a vehicle's fields to the index. A vehicle that is already indexed is removed from the terms it no
+     * longer contains and added to its new ones.
+     *
+     * @param vehicleId     the ID of the vehicle
+     * @param chassisNumber the chassis number
+     * @param manufacturer  the manufacturer
+     * @param modelName     the model name
+     */
+    public void add(long vehicleId, String chassisNumber, String manufacturer, String modelName) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokenize(chassisNumber, tokens);
+        tokenize(manufacturer, tokens);
+        tokenize(modelName, tokens);
+        lock.writeLock().lock();
+        try {
+            highestId = Math.max(highestId, vehicleId);
+            String[] previous = vehicleTerms.get(vehicleId);
+            List<String> kept = previous == null ? List.of() : Arrays.asList(previous);
+            if (kept.size() == tokens.size() && tokens.containsAll(kept)) {
+                return;
+            }
+            for (String text : kept) {
+                if (!tokens.contains(text)) {
+                    // A term left without vehicles stays in the dictionary and matches nothing
+                    dictionary.get(text).remove(vehicleId);
+                }
+            }
+            String[] current = new String[tokens.size()];
+            int i = 0;
+            for (String token : tokens) {
+                Term term = dictionary.get(token);
+                if (term == null) {
+                    term = new Term(token);
+                    dictionary.put(token, term);
+                    int termId = terms.size();
+                    terms.add(term);
+                    for (long gram : trigrams(token, true)) {
+                        trigrams.computeIfAbsent(gram, key -> new TermIds()).add(termId);
+                    }
+                }
+                if (!kept.contains(token)) {
+                    term.add(vehicleId);
+                }
+                // Share the dictionary's copy of the text instead of holding another one per vehicle
+                current[i++] = term.text;
+            }
+            vehicleTerms.put(vehicleId, current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the vehicles matching every term of a query, best matches first.
+     *
+     * @param query the search text
+     * @param limit the maximum number of vehicle IDs to return
+     * @return the IDs of the matching vehicles, ranked by score and then by ID
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokenize(query, tokens);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                Map<Long, Integer> hits = lookup(token);
+                if (scores == null) {
+                    scores = hits;
+                    continue;
+                }
+                Map<Long, Integer> both = new HashMap<>();
+                Map<Long, Integer> smaller = hits.size() < scores.size() ? hits : scores;
+                Map<Long, Integer> larger = smaller == hits ? scores : hits;
+                for (Map.Entry<Long, Integer> hit : smaller.entrySet()) {
+                    Integer other = larger.get(hit.getKey());
+                    if (other != null) {
+                        both.put(hit.getKey(), hit.getValue() + other);
+                    }
+                }
+                scores = both;
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Checks a vehicle's current fields against a query with the same rules as {@link #search}.
+     *
+     * @param query         the search text
+     * @param chassisNumber the chassis number
+     * @param manufacturer  the manufacturer
+     * @param modelName     the model name
+     * @return {@code true} if every query term matches a term of the vehicle
+     */
+    public static boolean matches(String query, String chassisNumber, String manufacturer, String modelName) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokenize(query, tokens);
+        Set<String> fields = new LinkedHashSet<>();
+        tokenize(chassisNumber, fields);
+        tokenize(manufacturer, fields);
+        tokenize(modelName, fields);
+        for (String token : tokens) {
+            int maxEdits = maxEdits(token);
+            boolean found = false;
+            for (String field : fields) {
+                if (field.startsWith(token)
+                        || (token.length() >= INFIX_LENGTH && field.contains(token))
+                        || (maxEdits > 0 && Math.abs(field.length() - token.length()) <= maxEdits
+                        && editDistance(token, field, maxEdits) <= maxEdits)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Collects the vehicles matching one query term with the best score each one reaches.
+     */
+    private Map<Long, Integer> lookup(String token) {
+        Map<Long, Integer> hits = new HashMap<>();
+        Term exact = dictionary.get(token);
+        if (exact != null) {
+            collect(exact, EXACT_SCORE, hits);
+        }
+        for (Term term : dictionary.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+            if (hits.size() >= maxCandidates) {
+                return hits;
+            }
+            collect(term, PREFIX_SCORE, hits);
+        }
+        if (token.length() >= INFIX_LENGTH && !collectInfixes(token, hits)) {
+            return hits;
+        }
+        int maxEdits = maxEdits(token);
+        if (maxEdits == 0) {
+            return hits;
+        }
+        // A term within k edits of the query shares all but at most 3k of the query's trigrams
+        Set<Long> grams = trigrams(token, true);
+        int required = Math.max(1, grams.size() - 3 * maxEdits);
+        int[] shared = new int[terms.size()];
+        for (long gram : grams) {
+            TermIds ids = trigrams.get(gram);
+            if (ids == null) {
+                continue;
+            }
+            for (int i = 0; i < ids.size; i++) {
+                int termId = ids.ids[i];
+                if (++shared[termId] != required) {
+                    continue;
+                }
+                Term term = terms.get(termId);
+                if (!term.text.startsWith(token)
+                        && Math.abs(term.text.length() - token.length()) <= maxEdits
+                        && editDistance(token, term.text, maxEdits) <= maxEdits) {
+                    if (hits.size() >= maxCandidates) {
+                        return hits;
+                    }
+                    collect(term, FUZZY_SCORE, hits);
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Collects the vehicles of the terms containing a query term past their first character.
+     *
+     * @return {@code false} once {@code vehicles.search.max-candidates} vehicles are collected
+     */
+    private boolean collectInfixes(String token, Map<Long, Integer> hits) {
+        // A term containing the query contains every trigram of it that does not touch the boundary
+        Set<Long> grams = trigrams(token, false);
+        int[] shared = new int[terms.size()];
+        for (long gram : grams) {
+            TermIds ids = trigrams.get(gram);
+            if (ids == null) {
+                return true;
+            }
+            for (int i = 0; i < ids.size; i++) {
+                int termId = ids.ids[i];
+                if (++shared[termId] != grams.size()) {
+                    continue;
+                }
+                Term term = terms.get(termId);
+                if (!term.text.startsWith(token) && term.text.contains(token)) {
+                    if (hits.size() >= maxCandidates) {
+                        return false;
+                    }
+                    collect(term, INFIX_SCORE, hits);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void collect(Term term, int score, Map<Long, Integer> hits) {
+        for (int i = 0; i < term.size && hits.size() < maxCandidates; i++) {
+            hits.merge(term.vehicles[i], score, Math::max);
+        }
+    }
+
+    private static int maxEdits(String token) {
+        if (token.length() >= TWO_EDIT_LENGTH) {
+            return 2;
+        }
+        return token.length() >= ONE_EDIT_LENGTH ? 1 : 0;
+    }
+
+    /**
+     * Splits text into lower-case runs of letters and digits.
+     */
+    private static void tokenize(String text, Set<String> tokens) {
+        if (text == null) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the distinct trigrams of a term, optionally padded with a boundary character on both sides.
+     */
+    private static Set<Long> trigrams(String token, boolean padded) {
+        String text = padded ? "\u0000" + token + "\u0000" : token;
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings, or any value above {@code max} once it is
+     * certain to exceed it.
+     */
+    private static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
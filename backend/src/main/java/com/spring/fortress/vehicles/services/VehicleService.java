@@ -1,36 +1,99 @@
 package com.spring.fortress.vehicles.services;
 
 import com.spring.fortress.vehicles.dtos.request.VehicleRequest;
+import com.spring.fortress.vehicles.dtos.response.VehiclePage;
+import com.spring.fortress.vehicles.dtos.response.VehicleSummary;
+import com.spring.fortress.vehicles.enums.VehicleSort;
+import com.spring.fortress.vehicles.exceptions.InvalidQueryException;
 import com.spring.fortress.vehicles.interfaces.VehicleInterface;
 import com.spring.fortress.vehicles.models.Owner;
 import com.spring.fortress.vehicles.models.Vehicle;
 import com.spring.fortress.vehicles.repositories.OwnerRepository;
 import com.spring.fortress.vehicles.repositories.VehicleRepository;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing vehicle registration in the vehicle tracking system.
  * Handles creation of new vehicles with validation and persistence.
+ * <p>
+ * Listings are read with keyset pagination over {@code (sort column, id)}: the cursor carries the position of
+ * the last vehicle returned and the next page seeks past it, so a deep page costs the same as the first one and
+ * a page never holds more than {@code vehicles.query.max-page-size} rows. Rows are read into
+ * {@link VehicleSummary} records with the plate number joined in, without loading owner or plate entities.
+ * </p>
+ * <p>
+ * Searches are answered by the {@link VehicleSearchIndex}, with only the matching rows read by ID. Until the
+ * index has been built at startup, they fall back to a {@code LIKE} scan of the table.
+ * </p>
  *
  * @author Fortress Backend
  * @since 1.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Validated
 public class VehicleService implements VehicleInterface {
 
+    private static final String SELECT_SUMMARY_SQL =
+            "SELECT v.id, v.chassis_number, v.manufacturer, v.manufactured_year, v.price, v.model_name, "
+                    + "v.owner_id, p.plate_number FROM vehicles v LEFT JOIN plates p ON p.vehicle_id = v.id";
+    private static final String SEARCH_FALLBACK_SQL = SELECT_SUMMARY_SQL
+            + " WHERE v.chassis_number LIKE ? OR v.model_name LIKE ? OR v.manufacturer LIKE ? ORDER BY v.id LIMIT ?";
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private static final RowMapper<VehicleSummary> SUMMARY_MAPPER = (rs, rowNum) -> new VehicleSummary(
+            rs.getLong("id"),
+            rs.getString("chassis_number"),
+            rs.getString("manufacturer"),
+            rs.getInt("manufactured_year"),
+            rs.getDouble("price"),
+            rs.getString("model_name"),
+            rs.getObject("owner_id", Long.class),
+            rs.getString("plate_number"));
+
     private final VehicleRepository vehicleRepository;
     private final OwnerRepository ownerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final VehicleSearchIndex vehicleSearchIndex;
+    private final int maxPageSize;
+    private final int maxSearchResults;
+
+    public VehicleService(VehicleRepository vehicleRepository,
+                          OwnerRepository ownerRepository,
+                          JdbcTemplate jdbcTemplate,
+                          VehicleSearchIndex vehicleSearchIndex,
+                          @Value("${vehicles.query.max-page-size:500}") int maxPageSize,
+                          @Value("${vehicles.search.max-results:50}") int maxSearchResults) {
+        this.vehicleRepository = vehicleRepository;
+        this.ownerRepository = ownerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.vehicleSearchIndex = vehicleSearchIndex;
+        this.maxPageSize = maxPageSize;
+        this.maxSearchResults = maxSearchResults;
+    }
+
+    /**
+     * The position of a vehicle in a listing order.
+     */
+    private record Position(Object value, long id) {
+    }
 
     /**
      * Registers a new vehicle based on the provided request.
@@ -86,12 +149,115 @@ public class VehicleService implements VehicleInterface {
     }
 
     @Override
-    public List<Vehicle> search(String searchTerm) {
-        return vehicleRepository.findByChassisNumberContainingIgnoreCaseOrModelNameContainingIgnoreCase(searchTerm, searchTerm);
+    public VehiclePage list(VehicleSort sort, Sort.Direction direction, String cursor, int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidQueryException("Page size must be between 1 and " + maxPageSize);
+        }
+        String order = direction.isAscending() ? " ASC" : " DESC";
+        String past = direction.isAscending() ? " > ?" : " < ?";
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_SUMMARY_SQL);
+        if (cursor != null && !cursor.isBlank()) {
+            Position seek = decodeCursor(cursor, sort, direction);
+            if (sort == VehicleSort.ID) {
+                sql.append(" WHERE v.id").append(past);
+            } else {
+                // Expanded rather than a row comparison so MySQL uses it as an index range
+                sql.append(" WHERE (").append(sort.column()).append(past)
+                        .append(" OR (").append(sort.column()).append(" = ? AND v.id").append(past).append("))");
+                args.add(seek.value());
+                args.add(seek.value());
+            }
+            args.add(seek.id());
+        }
+        sql.append(" ORDER BY ");
+        if (sort != VehicleSort.ID) {
+            sql.append(sort.column()).append(order).append(", ");
+        }
+        sql.append("v.id").append(order).append(" LIMIT ?");
+        // One extra row tells whether another page follows
+        args.add(size + 1);
+
+        List<VehicleSummary> vehicles = jdbcTemplate.query(sql.toString(), SUMMARY_MAPPER, args.toArray());
+        String nextCursor = null;
+        if (vehicles.size() > size) {
+            vehicles = vehicles.subList(0, size);
+            nextCursor = encodeCursor(sort, direction, vehicles.get(size - 1));
+        }
+        log.debug("Retrieved {} vehicles sorted by {} {}", vehicles.size(), sort, direction);
+        return new VehiclePage(vehicles, nextCursor);
+    }
+
+    @Override
+    public List<VehicleSummary> search(String searchTerm) {
+        if (!vehicleSearchIndex.isReady()) {
+            // Until the index is built, fall back to scanning the table
+            String pattern = "%" + searchTerm.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            return jdbcTemplate.query(SEARCH_FALLBACK_SQL, SUMMARY_MAPPER, pattern, pattern, pattern, maxSearchResults);
+        }
+        List<Long> ids = vehicleSearchIndex.search(searchTerm, maxSearchResults);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Map<Long, VehicleSummary> rows = new HashMap<>();
+        jdbcTemplate.query(SELECT_SUMMARY_SQL + " WHERE v.id IN (" + placeholders + ")", SUMMARY_MAPPER, ids.toArray())
+                .forEach(vehicle -> rows.put(vehicle.id(), vehicle));
+        // Vehicles updated on other nodes may still sit under their old terms, so drop those that no longer match
+        return ids.stream()
+                .map(rows::get)
+                .filter(vehicle -> vehicle != null && VehicleSearchIndex.matches(searchTerm,
+                        vehicle.chassisNumber(), vehicle.manufacturer(), vehicle.modelName()))
+                .toList();
     }
 
     @Override
     public List<Vehicle> getByOwnerId(Long ownerId) {
         return vehicleRepository.findByOwnerId(ownerId);
     }
-}
\ No newline at end of file
+
+    private static Object sortValue(VehicleSort sort, VehicleSummary vehicle) {
+        return switch (sort) {
+            case ID -> vehicle.id();
+            case CHASSIS_NUMBER -> vehicle.chassisNumber();
+            case MANUFACTURED_YEAR -> vehicle.manufacturedYear();
+            case PRICE -> vehicle.price();
+        };
+    }
+
+    private static String encodeCursor(VehicleSort sort, Sort.Direction direction, VehicleSummary last) {
+        String position = sort + CURSOR_SEPARATOR + direction + CURSOR_SEPARATOR + sortValue(sort, last)
+                + CURSOR_SEPARATOR + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor, VehicleSort sort, Sort.Direction direction) {
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException("Invalid cursor", e);
+        }
+        String prefix = sort + CURSOR_SEPARATOR + direction + CURSOR_SEPARATOR;
+        if (!position.startsWith(prefix)) {
+            throw new InvalidQueryException("Cursor does not match the requested sort");
+        }
+        // The ID follows the last separator, so a chassis number containing one still parses
+        int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+        if (separator < prefix.length()) {
+            throw new InvalidQueryException("Invalid cursor");
+        }
+        String value = position.substring(prefix.length(), separator);
+        try {
+            long id = Long.parseLong(position.substring(separator + 1));
+            return switch (sort) {
+                case ID -> new Position(id, id);
+                case CHASSIS_NUMBER -> new Position(value, id);
+                case MANUFACTURED_YEAR -> new Position(Integer.parseInt(value), id);
+                case PRICE -> new Position(Double.parseDouble(value), id);
+            };
+        } catch (NumberFormatException e) {
+            throw new InvalidQueryException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.spring.fortress.vehicles.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses audit change-sets in the format of MySQL's {@code COMPRESS()}.
+ * <p>
+ * The stored value is the uncompressed length as four little-endian bytes followed by a zlib stream, so
+ * {@code SELECT UNCOMPRESS(changes) FROM HISTORY_TABLE} reads change-sets straight from SQL. An empty
+ * change-set is stored as zero bytes, as MySQL does.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public final class AuditChangeCodec {
+
+    private AuditChangeCodec() {
+    }
+
+    /**
+     * Compresses a change-set.
+     *
+     * @param json the change-set as JSON
+     * @return the compressed bytes, or {@code null} if {@code json} is {@code null}
+     */
+    public static byte[] compress(String json) {
+        if (json == null) {
+            return null;
+        }
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+        if (raw.length == 0) {
+            return new byte[0];
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            out.write(raw.length & 0xff);
+            out.write((raw.length >>> 8) & 0xff);
+            out.write((raw.length >>> 16) & 0xff);
+            out.write((raw.length >>> 24) & 0xff);
+            byte[] buffer = new byte[Math.max(64, raw.length)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompresses a change-set written by {@link #compress(String)} or MySQL's {@code COMPRESS()}.
+     *
+     * @param compressed the stored bytes
+     * @return the change-set as JSON, or {@code null} if {@code compressed} is {@code null}
+     * @throws IllegalArgumentException if the bytes are not a valid compressed change-set
+     */
+    public static String decompress(byte[] compressed) {
+        if (compressed == null) {
+            return null;
+        }
+        if (compressed.length == 0) {
+            return "";
+        }
+        if (compressed.length < 5) {
+            throw new IllegalArgumentException("Compressed change-set is truncated");
+        }
+        int length = (compressed[0] & 0xff)
+                | (compressed[1] & 0xff) << 8
+                | (compressed[2] & 0xff) << 16
+                | (compressed[3] & 0xff) << 24;
+        if (length < 0) {
+            throw new IllegalArgumentException("Compressed change-set is too large");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed, 4, compressed.length - 4);
+            byte[] raw = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalArgumentException("Compressed change-set is truncated");
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Compressed change-set is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
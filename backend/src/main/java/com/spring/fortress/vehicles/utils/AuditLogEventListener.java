@@ -1,26 +1,29 @@
 package com.spring.fortress.vehicles.utils;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spring.fortress.vehicles.models.AuditLog;
-import com.spring.fortress.vehicles.repositories.AuditLogRepository;
+import com.spring.fortress.vehicles.services.AuditLogWriter;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.event.spi.*;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Hibernate event listener for auditing entity creation and updates.
- * Logs audit events to the HISTORY table with entity details and user information.
+ * Captures audit events with entity details and user information and hands them to the
+ * {@link AuditLogWriter}, which stores them in the HISTORY table after the transaction commits.
+ * Only the changed properties are captured here; serializing and compressing them happens on the writer thread.
  *
  * @author Fortress Backend
  * @since 1.0
@@ -29,8 +32,14 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuditLogEventListener implements PostInsertEventListener, PostUpdateEventListener {
     private static final Logger log = LoggerFactory.getLogger(AuditLogEventListener.class);
-    private final ObjectMapper objectMapper;
-    private final AuditLogRepository auditLogRepository;
+
+    /**
+     * Properties whose values never leave the entity; a change is recorded as masked.
+     */
+    private static final Set<String> REDACTED_PROPERTIES = Set.of("password", "verificationCode");
+    private static final String REDACTED_VALUE = "***";
+
+    private final AuditLogWriter auditLogWriter;
 
     /**
      * Handles post-insert events by logging entity creation details.
@@ -38,13 +47,13 @@ public class AuditLogEventListener implements PostInsertEventListener, PostUpdat
      * @param event the post-insert event
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void onPostInsert(PostInsertEvent event) {
         if (isAuditLogEntity(event.getEntity())) {
             log.debug("Skipping audit for AuditLog entity");
             return;
         }
-        logAuditEvent(event.getEntity(), event.getId(), event.getPersister(), "CREATE", null, event.getState());
+        logAuditEvent(event.getEntity(), event.getId(), event.getPersister(), event.getSession(),
+                "CREATE", null, event.getState(), null);
     }
 
     /**
@@ -53,12 +62,12 @@ public class AuditLogEventListener implements PostInsertEventListener, PostUpdat
      * @param event the post-update event
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void onPostUpdate(PostUpdateEvent event) {
         if (isAuditLogEntity(event.getEntity())) {
             return;
         }
-        logAuditEvent(event.getEntity(), event.getId(), event.getPersister(), "UPDATE", event.getOldState(), event.getState());
+        logAuditEvent(event.getEntity(), event.getId(), event.getPersister(), event.getSession(),
+                "UPDATE", event.getOldState(), event.getState(), event.getDirtyProperties());
     }
 
     /**
@@ -72,34 +81,35 @@ public class AuditLogEventListener implements PostInsertEventListener, PostUpdat
     }
 
     /**
-     * Logs an audit event with entity details, user, and state changes.
+     * Records an audit event with entity details, user, and state changes.
+     * A failure is logged and never rolls back the audited transaction.
      *
      * @param entity    the entity being audited
      * @param id        the entity ID
      * @param persist the entity persist
+     * @param session   the session that flushed the entity
      * @param action    the action type (CREATE or UPDATE)
      * @param oldState  the previous state (for updates)
      * @param newState  the new state
+     * @param dirty     the indexes of the dirty properties, used when the previous state is unknown
      */
-    private void logAuditEvent(Object entity, Object id, EntityPersister persist, String action, Object[] oldState, Object[] newState) {
+    private void logAuditEvent(Object entity, Object id, EntityPersister persist, EventSource session, String action,
+                               Object[] oldState, Object[] newState, int[] dirty) {
         try {
             String entityType = entity.getClass().getSimpleName();
             String userEmail = getCurrentUser(entity, action, persist, newState);
-            String oldValues = oldState != null ? toJson(persist.getPropertyNames(), oldState) : null;
-            String newValues = toJson(persist.getPropertyNames(), newState);
 
             AuditLog auditLog = new AuditLog();
             auditLog.setEntityType(entityType);
             auditLog.setEntityId(((Number) id).longValue());
             auditLog.setAction(action);
             auditLog.setUserEmail(userEmail);
+            auditLog.setCreatedAt(LocalDateTime.now());
 
-            log.debug("Saving audit log for {} {} by {}", action, entityType, userEmail);
-            auditLogRepository.save(auditLog);
-            log.info("Logged audit event: {} {} by {}", action, entityType, userEmail);
+            auditLogWriter.submitAfterCommit(captureChanges(auditLog, persist, session, oldState, newState, dirty));
+            log.debug("Recorded audit event: {} {} by {}", action, entityType, userEmail);
         } catch (Exception e) {
-            log.error("Failed to log audit event for {}: {}", entity.getClass().getSimpleName(), e.getMessage(), e);
-            throw new RuntimeException("Audit logging failed", e); // Ensure transaction rolls back
+            log.error("Failed to record audit event for {}: {}", entity.getClass().getSimpleName(), e.getMessage(), e);
         }
     }
 
@@ -132,24 +142,73 @@ public class AuditLogEventListener implements PostInsertEventListener, PostUpdat
     }
 
     /**
-     * Converts entity state to JSON for audit logging.
+     * Collects the changed properties of an entity. A creation records every non-null property,
+     * an update the properties whose value differs, or the dirty ones when the previous state is unknown.
+     * Collections are skipped and associations are reduced to their identifier, so nothing captured here
+     * touches the session once the transaction is over.
      *
-     * @param propertyNames the property names of the entity
-     * @param state         the state values
-     * @return the JSON string or null if state is null
-     * @throws JsonProcessingException if JSON serialization fails
+     * @param auditLog the audit entry the changes belong to
+     * @param persist  the entity persist
+     * @param session  the session that flushed the entity
+     * @param oldState the previous state, or {@code null}
+     * @param newState the new state
+     * @param dirty    the indexes of the dirty properties, or {@code null}
+     * @return the entry to hand to the writer
      */
-    private String toJson(String[] propertyNames, Object[] state) throws JsonProcessingException {
-        if (state == null) {
-            return null;
+    private AuditLogWriter.Entry captureChanges(AuditLog auditLog, EntityPersister persist, EventSource session,
+                                                Object[] oldState, Object[] newState, int[] dirty) {
+        String[] propertyNames = persist.getPropertyNames();
+        Type[] types = persist.getPropertyTypes();
+        boolean creation = "CREATE".equals(auditLog.getAction());
+        List<String> names = new ArrayList<>();
+        List<Object> oldValues = new ArrayList<>();
+        List<Object> newValues = new ArrayList<>();
+
+        for (int i = 0; i < propertyNames.length && i < newState.length; i++) {
+            if (types[i].isCollectionType()) {
+                continue;
+            }
+            if (!creation && oldState == null && !contains(dirty, i)) {
+                continue;
+            }
+            Object previous = creation || oldState == null ? null : snapshot(types[i], oldState[i], session);
+            Object current = snapshot(types[i], newState[i], session);
+            if (creation ? current == null : oldState != null && Objects.deepEquals(previous, current)) {
+                continue;
+            }
+            if (REDACTED_PROPERTIES.contains(propertyNames[i])) {
+                previous = previous == null ? null : REDACTED_VALUE;
+                current = current == null ? null : REDACTED_VALUE;
+            }
+            names.add(propertyNames[i]);
+            oldValues.add(previous);
+            newValues.add(current);
         }
-        Map<String, Object> map = new HashMap<>();
-        for (int i = 0; i < propertyNames.length && i < state.length; i++) {
-            if (state[i] != null) {
-                map.put(propertyNames[i], state[i]);
+
+        return new AuditLogWriter.Entry(auditLog, names.toArray(String[]::new),
+                creation ? null : oldValues.toArray(), newValues.toArray());
+    }
+
+    /**
+     * Reduces an association to the identifier of the associated entity; other values are kept as they are.
+     */
+    private Object snapshot(Type type, Object value, EventSource session) {
+        if (value == null || !type.isEntityType()) {
+            return value;
+        }
+        return session.getEntityPersister(((EntityType) type).getAssociatedEntityName(), value)
+                .getIdentifier(value, session);
+    }
+
+    private static boolean contains(int[] indexes, int index) {
+        if (indexes != null) {
+            for (int candidate : indexes) {
+                if (candidate == index) {
+                    return true;
+                }
             }
         }
-        return objectMapper.writeValueAsString(map);
+        return false;
     }
 
     /**
@@ -0,0 +1,67 @@
+package com.spring.fortress.vehicles.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * A small pool of reusable, non-thread-safe helpers such as a keyed {@link javax.crypto.Mac}.
+ * <p>
+ * Unlike a {@link ThreadLocal}, the number of helpers kept does not grow with the number of threads, which
+ * matters with {@code spring.threads.virtual.enabled}: every request runs on a fresh virtual thread, so a
+ * per-thread helper would be built for each request and then dropped. {@link #acquire()} hands out an idle
+ * helper or builds a new one, so callers never wait; {@link #release(Object)} keeps at most
+ * {@code maxIdle} helpers and lets the rest be collected.
+ * </p>
+ *
+ * @param <T> the type of helper pooled
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public final class BoundedPool<T> {
+
+    private final Supplier<T> factory;
+    private final ArrayBlockingQueue<T> idle;
+
+    /**
+     * @param factory builds a helper when none is idle
+     * @param maxIdle the most helpers kept between uses
+     */
+    public BoundedPool(Supplier<T> factory, int maxIdle) {
+        if (maxIdle < 1) {
+            throw new IllegalArgumentException("maxIdle must be at least 1");
+        }
+        this.factory = factory;
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Creates a pool that keeps two helpers per available processor, enough for every carrier thread to
+     * find one idle.
+     *
+     * @param factory builds a helper when none is idle
+     * @param <T>     the type of helper pooled
+     * @return the pool
+     */
+    public static <T> BoundedPool<T> perProcessor(Supplier<T> factory) {
+        return new BoundedPool<>(factory, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Takes an idle helper, or builds one if none is idle.
+     *
+     * @return a helper the caller has to itself until it is released
+     */
+    public T acquire() {
+        T helper = idle.poll();
+        return helper != null ? helper : factory.get();
+    }
+
+    /**
+     * Returns a helper to the pool, or drops it if the pool is full.
+     *
+     * @param helper a helper taken with {@link #acquire()}, no longer used by the caller
+     */
+    public void release(T helper) {
+        idle.offer(helper);
+    }
+}
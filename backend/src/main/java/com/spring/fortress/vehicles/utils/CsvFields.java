@@ -0,0 +1,58 @@
+package com.spring.fortress.vehicles.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes CSV fields for the audit log and bulk exports.
+ * <p>
+ * Fields holding a comma, a quote or a line break are quoted, with quotes doubled. Text starting with
+ * {@code =}, {@code +}, {@code -}, {@code @}, a tab or a carriage return is prefixed with an apostrophe, so
+ * spreadsheets do not evaluate it as a formula. Numbers and dates are written as they are, so a negative
+ * amount stays a number.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+public final class CsvFields {
+
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private CsvFields() {
+    }
+
+    /**
+     * Writes a text field, guarded against formula evaluation.
+     *
+     * @param writer the writer to append to
+     * @param value  the text, or {@code null} for an empty field
+     * @throws IOException if writing fails
+     */
+    public static void writeText(Writer writer, String value) throws IOException {
+        if (value != null && !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        writeValue(writer, value);
+    }
+
+    /**
+     * Writes a formatted number, date or other non-text value.
+     *
+     * @param writer the writer to append to
+     * @param value  the formatted value, or {@code null} for an empty field
+     * @throws IOException if writing fails
+     */
+    public static void writeValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -4,15 +4,26 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.security.GeneralSecurityException;
+import java.text.DecimalFormatSymbols;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Formatter;
+import java.util.Locale;
 
 /**
  * Utility class for generating and verifying compliant electricity tokens.
+ * <p>
+ * A small pool holds pre-keyed {@link Mac}s together with reusable scratch buffers, so vending and
+ * verification do not look up the HMAC provider, rebuild the key or round-trip through a hex string, even
+ * when every request runs on a fresh virtual thread.
+ * The 20 token digits are derived straight from the raw signature bytes using the same mapping the
+ * original hex-based implementation produced, which keeps previously issued tokens valid.
+ * </p>
  */
 @Component
 @Slf4j
@@ -21,6 +32,90 @@ public class ElectricityTokenUtil {
     private static final String HMAC_ALGORITHM = "HmacSHA256";
     private static final String VENDING_KEY = "REG_SECRET_KEY";
 
+    /**
+     * Number of digits in a token.
+     */
+    private static final int TOKEN_DIGITS = 20;
+
+    /**
+     * Epoch second of 1993-01-01T00:00Z, the reference point for Token Identifiers (TID).
+     */
+    private static final long TID_BASE_EPOCH_SECOND =
+            LocalDateTime.of(1993, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    /**
+     * Digit produced by each signature nibble. The legacy implementation hex-encoded the signature and
+     * took {@code (hexChar & 0xFF) % 10} for the first 20 characters, so nibble {@code n} maps to the
+     * ASCII code of its lowercase hex character modulo 10.
+     */
+    private static final char[] NIBBLE_DIGITS = new char[16];
+
+    static {
+        for (int nibble = 0; nibble < 16; nibble++) {
+            char hexChar = Character.forDigit(nibble, 16);
+            NIBBLE_DIGITS[nibble] = (char) ('0' + (hexChar & 0xFF) % 10);
+        }
+    }
+
+    /**
+     * Largest scaled value (units x 100) that is printed through the integer fast path.
+     */
+    private static final double MAX_FAST_SCALED_UNITS = 1e15;
+
+    private static final byte[] VENDING_KEY_BYTES = VENDING_KEY.getBytes(StandardCharsets.UTF_8);
+
+    private static final BoundedPool<TokenEngine> ENGINES = BoundedPool.perProcessor(TokenEngine::new);
+
+    /**
+     * Returns the current Token Identifier: seconds elapsed since 1993-01-01T00:00Z.
+     *
+     * @return the current TID
+     */
+    public long currentTid() {
+        return Instant.now().getEpochSecond() - TID_BASE_EPOCH_SECOND;
+    }
+
+    /**
+     * Converts a Token Identifier back to the UTC date and time it represents.
+     *
+     * @param tid the Token Identifier
+     * @return the issue time in UTC
+     */
+    public LocalDateTime tidToDateTime(long tid) {
+        return LocalDateTime.ofEpochSecond(TID_BASE_EPOCH_SECOND + tid, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Normalizes a user-supplied token to the stored XXXXX-XXXXX-XXXXX-XXXXX form.
+     * Hyphens and spaces are ignored.
+     *
+     * @param token the token as entered
+     * @return the formatted token, or null if it does not contain exactly 20 digits
+     */
+    public String normalizeToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        char[] formatted = new char[TOKEN_DIGITS + 3];
+        int digits = 0;
+        int pos = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (c < '0' || c > '9' || digits == TOKEN_DIGITS) {
+                return null;
+            }
+            if (digits > 0 && digits % 5 == 0) {
+                formatted[pos++] = '-';
+            }
+            formatted[pos++] = c;
+            digits++;
+        }
+        return digits == TOKEN_DIGITS ? new String(formatted) : null;
+    }
+
     /**
      * Generates a 20-digit electricity token in the format XXXXX-XXXXX-XXXXX-XXXXX.
      *
@@ -29,29 +124,41 @@ public class ElectricityTokenUtil {
      * @return The formatted token
      */
     public String generateToken(String meterNumber, double units) {
-        try {
-            // Generate TID
-            long tid = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) -
-                    LocalDateTime.of(1993, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
-
-            // Create token data
-            String tokenData = String.format("%s|%d|%.2f", meterNumber, tid, units);
-
-            // Generate HMAC-SHA256 signature
-            String signature = createHmacSignature(tokenData, VENDING_KEY);
+        return generateToken(meterNumber, units, currentTid());
+    }
 
-            // Convert signature to 20-digit numeric token
-            String numericToken = signatureToNumericToken(signature);
+    /**
+     * Generates a 20-digit electricity token for an explicit Token Identifier.
+     * Callers that report the TID alongside the token should use this overload so both agree.
+     *
+     * @param meterNumber The meter number
+     * @param units       The electricity units (kWh)
+     * @param tid         The Token Identifier (TID)
+     * @return The formatted token
+     */
+    public String generateToken(String meterNumber, double units, long tid) {
+        TokenEngine engine = ENGINES.acquire();
+        try {
+            engine.sign(meterNumber, tid, units);
 
-            // Format as XXXXX-XXXXX-XXXXX-XXXXX
-            String formattedToken = formatToken(numericToken);
+            char[] formatted = engine.formatted;
+            int pos = 0;
+            for (int i = 0; i < TOKEN_DIGITS; i++) {
+                if (i > 0 && i % 5 == 0) {
+                    formatted[pos++] = '-';
+                }
+                formatted[pos++] = engine.digitAt(i);
+            }
+            String formattedToken = new String(formatted);
 
-            log.info("Generated electricity token for meter {}: {}", meterNumber, formattedToken);
+            log.debug("Generated electricity token for meter {}: {}", meterNumber, formattedToken);
             return formattedToken;
 
         } catch (Exception e) {
             log.error("Failed to generate electricity token: {}", e.getMessage());
             throw new RuntimeException("Error generating electricity token", e);
+        } finally {
+            ENGINES.release(engine);
         }
     }
 
@@ -65,21 +172,26 @@ public class ElectricityTokenUtil {
      * @return True if valid, false otherwise
      */
     public boolean isTokenValid(String token, String meterNumber, double units, long tid) {
+        TokenEngine engine = ENGINES.acquire();
         try {
-            // Remove hyphens for verification
-            String numericToken = token.replace("-", "");
-
-            // Recreate token data
-            String tokenData = String.format("%s|%d|%.2f", meterNumber, tid, units);
+            engine.sign(meterNumber, tid, units);
 
-            // Generate expected signature
-            String expectedSignature = createHmacSignature(tokenData, VENDING_KEY);
-
-            // Convert to expected numeric token
-            String expectedNumericToken = signatureToNumericToken(expectedSignature);
+            // Compare digit by digit, ignoring hyphens, without building intermediate strings
+            int digits = 0;
+            int mismatch = 0;
+            for (int i = 0; i < token.length(); i++) {
+                char c = token.charAt(i);
+                if (c == '-') {
+                    continue;
+                }
+                if (digits == TOKEN_DIGITS) {
+                    mismatch = 1;
+                    break;
+                }
+                mismatch |= c ^ engine.digitAt(digits++);
+            }
 
-            // Compare
-            boolean isValid = numericToken.equals(expectedNumericToken);
+            boolean isValid = digits == TOKEN_DIGITS && mismatch == 0;
             if (isValid) {
                 log.debug("Electricity token is valid for meter {}", meterNumber);
             } else {
@@ -90,57 +202,119 @@ public class ElectricityTokenUtil {
         } catch (Exception e) {
             log.error("Error verifying electricity token: {}", e.getMessage());
             return false;
+        } finally {
+            ENGINES.release(engine);
         }
     }
 
     /**
-     * Creates an HMAC-SHA256 signature for the given data.
+     * Pooled signing state: a pre-keyed HMAC plus the buffers reused across calls.
      */
-    private String createHmacSignature(String data, String key)
-            throws NoSuchAlgorithmException, InvalidKeyException {
-        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
-        mac.init(secretKeySpec);
-        byte[] signatureBytes = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-        return bytesToHex(signatureBytes);
-    }
+    private static final class TokenEngine {
 
-    /**
-     * Converts an HMAC signature to a 20-digit numeric token.
-     */
-    private String signatureToNumericToken(String signature) {
-        // Take first 20 bytes of signature and map to digits
-        StringBuilder numeric = new StringBuilder();
-        for (int i = 0; i < 20; i++) {
-            int byteValue = (i < signature.length()) ? (signature.charAt(i) & 0xFF) % 10 : 0;
-            numeric.append(byteValue);
+        private final Mac mac;
+        private final StringBuilder data = new StringBuilder(64);
+        private final byte[] signature;
+        private final char[] formatted = new char[TOKEN_DIGITS + 3];
+        private byte[] dataBytes = new byte[64];
+
+        private Locale formatLocale;
+        private boolean plainDecimalLocale;
+
+        private TokenEngine() {
+            try {
+                this.mac = Mac.getInstance(HMAC_ALGORITHM);
+                this.mac.init(new SecretKeySpec(VENDING_KEY_BYTES, HMAC_ALGORITHM));
+                this.signature = new byte[mac.getMacLength()];
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC engine unavailable: " + HMAC_ALGORITHM, e);
+            }
         }
-        return numeric.toString();
-    }
 
-    /**
-     * Formats a 20-digit numeric token as XXXXX-XXXXX-XXXXX-XXXXX.
-     */
-    private String formatToken(String numericToken) {
-        if (numericToken.length() != 20) {
-            throw new IllegalArgumentException("Numeric token must be 20 digits");
+        /**
+         * Signs {@code meterNumber|tid|units} (units with two decimals) into {@link #signature}.
+         */
+        private void sign(String meterNumber, long tid, double units) throws ShortBufferException {
+            data.setLength(0);
+            data.append(meterNumber).append('|');
+            if (!appendFast(tid, units)) {
+                // Locale or value the fast path cannot reproduce exactly: use the original formatting
+                data.setLength(0);
+                new Formatter(data).format("%s|%d|%.2f", meterNumber, tid, units);
+            }
+
+            int length = data.length();
+            byte[] bytes = asciiBytes(length);
+            if (bytes != null) {
+                mac.update(bytes, 0, length);
+            } else {
+                mac.update(data.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            mac.doFinal(signature, 0);
         }
-        return String.format("%s-%s-%s-%s",
-                numericToken.substring(0, 5),
-                numericToken.substring(5, 10),
-                numericToken.substring(10, 15),
-                numericToken.substring(15, 20));
-    }
 
-    /**
-     * Converts bytes to a hex string.
-     */
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder hex = new StringBuilder();
-        for (byte b : bytes) {
-            hex.append(String.format("%02x", b));
+        /**
+         * Appends {@code tid|units} the way {@code String.format("%d|%.2f")} would, for the common case
+         * of a plain-decimal locale and units that are a whole number of hundredths.
+         *
+         * @return false if the caller must fall back to {@link Formatter}
+         */
+        private boolean appendFast(long tid, double units) {
+            if (!isPlainDecimalLocale()) {
+                return false;
+            }
+            double scaled = units * 100;
+            if (Double.doubleToRawLongBits(units) < 0 || !(scaled < MAX_FAST_SCALED_UNITS)) {
+                return false;
+            }
+            long hundredths = (long) scaled;
+            if (hundredths != scaled) {
+                return false;
+            }
+            int fraction = (int) (hundredths % 100);
+            data.append(tid).append('|')
+                    .append(hundredths / 100).append('.')
+                    .append((char) ('0' + fraction / 10))
+                    .append((char) ('0' + fraction % 10));
+            return true;
+        }
+
+        private boolean isPlainDecimalLocale() {
+            Locale current = Locale.getDefault(Locale.Category.FORMAT);
+            if (current != formatLocale) {
+                DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(current);
+                plainDecimalLocale = symbols.getDecimalSeparator() == '.' && symbols.getZeroDigit() == '0';
+                formatLocale = current;
+            }
+            return plainDecimalLocale;
+        }
+
+        /**
+         * Copies the token data into the scratch byte buffer when it is pure ASCII.
+         *
+         * @return the buffer, or null if the data contains non-ASCII characters
+         */
+        private byte[] asciiBytes(int length) {
+            if (dataBytes.length < length) {
+                dataBytes = new byte[Math.max(length, dataBytes.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = data.charAt(i);
+                if (c >= 0x80) {
+                    return null;
+                }
+                dataBytes[i] = (byte) c;
+            }
+            return dataBytes;
+        }
+
+        /**
+         * Returns the token digit at {@code index} (0-19) of the last computed signature.
+         */
+        private char digitAt(int index) {
+            int b = signature[index >> 1] & 0xFF;
+            return NIBBLE_DIGITS[(index & 1) == 0 ? b >>> 4 : b & 0x0F];
         }
-        return hex.toString();
     }
 
     /**
@@ -152,11 +326,10 @@ public class ElectricityTokenUtil {
         // Test data
         String meterNumber = "12345678901";
         double units = 100.0;
-        long tid = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) -
-                LocalDateTime.of(1993, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long tid = tokenUtil.currentTid();
 
         // Test token generation
-        String token = tokenUtil.generateToken(meterNumber, units);
+        String token = tokenUtil.generateToken(meterNumber, units, tid);
         System.out.println("Generated Token: " + token);
 
         // Test token verification
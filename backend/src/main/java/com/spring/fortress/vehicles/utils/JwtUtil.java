@@ -1,15 +1,21 @@
 package com.spring.fortress.vehicles.utils;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.fortress.vehicles.security.JwtClaims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,6 +23,12 @@ import java.util.Map;
 /**
  * Utility for creating and validating JSON Web Tokens (JWT) using HMAC-SHA256.
  * Supports token creation, validation, and claim extraction for secure authentication.
+ * <p>
+ * {@link #verify(String, String)} checks a token in a single pass: it locates the parts without a regex,
+ * signs them with a pooled {@link Mac} that stays keyed across requests, compares the signature in
+ * constant time and streams the payload into a {@link JwtClaims} without building an intermediate map.
+ * The verifiers are pooled rather than kept per thread, so virtual threads reuse them too.
+ * </p>
  *
  * @author Fortress Backend
  * @since 1.0
@@ -28,6 +40,32 @@ public class JwtUtil {
     private static final String HMAC_ALGORITHM = "HmacSHA256";
     private static final String DOT_SEPARATOR = ".";
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonFactory jsonFactory = objectMapper.getFactory();
+
+    /**
+     * Length of an HMAC-SHA256 signature, and of the encoded signature part of a token. Tokens carry the
+     * Base64URL encoding of the ASCII Base64URL signature, so 32 bytes become 43 characters, then 58.
+     */
+    private static final int HMAC_LENGTH = 32;
+    private static final int SIGNATURE_BASE64_LENGTH = 43;
+    private static final int ENCODED_SIGNATURE_LENGTH = 58;
+
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Maps Base64URL characters to their 6-bit values; -1 marks characters outside the alphabet.
+     */
+    private static final byte[] BASE64_URL_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_URL_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final BoundedPool<Verifier> VERIFIERS = BoundedPool.perProcessor(Verifier::new);
 
     /**
      * Creates a JWT token with HMAC-SHA256 signature.
@@ -71,116 +109,107 @@ public class JwtUtil {
     }
 
     /**
-     * Validates a JWT token by checking its signature and expiration.
+     * Verifies a JWT token in a single pass and returns its claims.
+     * The token is decoded once; its signature is compared in constant time and its expiry is checked.
      *
-     * @param token     the JWT token to validate
+     * @param token     the JWT token to verify
      * @param secretKey the secret key used for signing
-     * @return {@code true} if the token is valid and not expired, {@code false} otherwise
+     * @return the verified claims, or {@code null} if the token is malformed, forged or expired
      */
-    public static boolean isTokenValid(String token, String secretKey) {
+    public static JwtClaims verify(String token, String secretKey) {
         try {
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
+            int firstDot = token.indexOf('.');
+            int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+            if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
                 log.warn("Invalid JWT token format: incorrect number of parts");
-                return false;
+                return null;
             }
 
-            String dataToSign = parts[0] + DOT_SEPARATOR + parts[1];
-            String expectedSignature = createHmacSignature(dataToSign, secretKey);
-            String encodedExpectedSignature = encodeBase64UrlSafe(expectedSignature);
-            if (!encodedExpectedSignature.equals(parts[2])) {
-                log.warn("Invalid JWT token: signature mismatch");
-                return false;
+            JwtClaims claims;
+            Verifier verifier = VERIFIERS.acquire();
+            try {
+                if (!verifier.signatureMatches(token, secondDot, secretKey)) {
+                    log.warn("Invalid JWT token: signature mismatch");
+                    return null;
+                }
+                claims = verifier.parseClaims(token, firstDot + 1, secondDot);
+            } finally {
+                VERIFIERS.release(verifier);
             }
-
-            if (isTokenExpired(token)) {
+            if (claims == null) {
+                return null;
+            }
+            if (claims.isExpiredAt(System.currentTimeMillis() / 1000)) {
                 log.warn("JWT token is expired");
-                return false;
+                return null;
             }
 
             log.debug("JWT token is valid");
-            return true;
+            return claims;
 
         } catch (Exception e) {
             log.error("Error validating JWT token: {}", e.getMessage(), e);
-            return false;
+            return null;
         }
     }
 
     /**
-     * Checks if a JWT token has expired.
+     * Validates a JWT token by checking its signature and expiration.
+     *
+     * @param token     the JWT token to validate
+     * @param secretKey the secret key used for signing
+     * @return {@code true} if the token is valid and not expired, {@code false} otherwise
+     */
+    public static boolean isTokenValid(String token, String secretKey) {
+        return verify(token, secretKey) != null;
+    }
+
+    /**
+     * Checks if a JWT token has expired. The signature is not checked.
      *
      * @param token the JWT token
      * @return {@code true} if expired, {@code false} otherwise
      */
     public static boolean isTokenExpired(String token) {
-        try {
-            Long exp = extractClaim(token, "exp", Long.class);
-            if (exp == null) {
-                log.warn("JWT token has no expiration claim");
-                return true;
-            }
-            return exp <= System.currentTimeMillis() / 1000;
-        } catch (Exception e) {
-            log.error("Error checking token expiration: {}", e.getMessage(), e);
-            return true;
-        }
+        JwtClaims claims = readClaims(token);
+        return claims == null || claims.isExpiredAt(System.currentTimeMillis() / 1000);
     }
 
     /**
-     * Extracts the username (subject) from a JWT token.
+     * Extracts the username (subject) from a JWT token. The signature is not checked.
      *
      * @param token the JWT token
      * @return the subject (username or user ID) or null if extraction fails
      */
     public static String extractUsername(String token) {
-        try {
-            return extractClaim(token, "sub", String.class);
-        } catch (Exception e) {
-            log.error("Error extracting username from JWT token: {}", e.getMessage(), e);
-            return null;
-        }
+        JwtClaims claims = readClaims(token);
+        return claims == null ? null : claims.subject();
     }
 
     /**
-     * Extracts a specific claim from the JWT payload.
+     * Decodes the claims of a JWT token without verifying its signature or expiry.
      *
-     * @param token    the JWT token
-     * @param claim    the claim name (e.g., "sub", "iss", "exp")
-     * @param type     the expected type of the claim
-     * @param <T>      the type parameter
-     * @return the claim value or null if extraction fails
-     * @throws JsonProcessingException if JSON parsing fails
+     * @param token the JWT token
+     * @return the claims, or null if the token is malformed
      */
-    @SuppressWarnings("unchecked")
-    private static <T> T extractClaim(String token, String claim, Class<T> type) throws JsonProcessingException {
-        String[] parts = token.split("\\.");
-        if (parts.length != 3) {
-            log.warn("Invalid JWT token format for claim extraction");
-            return null;
-        }
-
-        String payloadJson = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
-        Map<String, Object> payload = objectMapper.readValue(payloadJson, Map.class);
-        Object value = payload.get(claim);
-
-        if (value == null) {
-            log.warn("Claim {} not found in JWT token", claim);
+    private static JwtClaims readClaims(String token) {
+        try {
+            int firstDot = token.indexOf('.');
+            int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+            if (secondDot < 0) {
+                log.warn("Invalid JWT token format for claim extraction");
+                return null;
+            }
+            Verifier verifier = VERIFIERS.acquire();
+            try {
+                return verifier.parseClaims(token, firstDot + 1, secondDot);
+            } finally {
+                VERIFIERS.release(verifier);
+            }
+        } catch (Exception e) {
+            log.error("Error reading JWT claims: {}", e.getMessage(), e);
             return null;
         }
-
-        // Handle numeric type conversions (e.g., Integer -> Long)
-        if (type == Long.class && value instanceof Integer) {
-            return type.cast(((Integer) value).longValue());
-        }
-
-        if (type.isInstance(value)) {
-            return type.cast(value);
-        }
-
-        log.warn("Claim {} has invalid type in JWT token (expected: {}, actual: {})",
-                claim, type.getSimpleName(), value.getClass().getSimpleName());
-        return null;
     }
 
     /**
@@ -194,12 +223,13 @@ public class JwtUtil {
      */
     private static String createHmacSignature(String data, String secretKey)
             throws NoSuchAlgorithmException, InvalidKeyException {
-        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-        SecretKeySpec secretKeySpec = new SecretKeySpec(
-                secretKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
-        mac.init(secretKeySpec);
-        byte[] signatureBytes = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(signatureBytes);
+        Verifier verifier = VERIFIERS.acquire();
+        try {
+            byte[] signatureBytes = verifier.macFor(secretKey).doFinal(data.getBytes(StandardCharsets.UTF_8));
+            return BASE64_URL_ENCODER.encodeToString(signatureBytes);
+        } finally {
+            VERIFIERS.release(verifier);
+        }
     }
 
     /**
@@ -209,8 +239,139 @@ public class JwtUtil {
      * @return the Base64 URL-safe encoded string
      */
     private static String encodeBase64UrlSafe(String input) {
-        return Base64.getUrlEncoder()
-                .withoutPadding()
-                .encodeToString(input.getBytes(StandardCharsets.UTF_8));
+        return BASE64_URL_ENCODER.encodeToString(input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Pooled verification state: a {@link Mac} keyed with the last secret used and scratch buffers
+     * reused across tokens, so steady-state verification allocates only the returned claims.
+     */
+    private static final class Verifier {
+        private String keyedSecret;
+        private Mac mac;
+        private byte[] signedBytes = new byte[512];
+        private byte[] payloadBytes = new byte[256];
+        private final byte[] hmac = new byte[HMAC_LENGTH];
+        private final byte[] signatureBase64 = new byte[SIGNATURE_BASE64_LENGTH];
+        private final byte[] expectedSignature = new byte[ENCODED_SIGNATURE_LENGTH];
+
+        private Mac macFor(String secretKey) throws NoSuchAlgorithmException, InvalidKeyException {
+            if (mac == null) {
+                mac = Mac.getInstance(HMAC_ALGORITHM);
+            }
+            if (!secretKey.equals(keyedSecret)) {
+                mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+                keyedSecret = secretKey;
+            }
+            return mac;
+        }
+
+        /**
+         * Signs {@code header.payload} and compares the double-encoded result with the signature part
+         * in constant time.
+         */
+        private boolean signatureMatches(String token, int secondDot, String secretKey) throws Exception {
+            if (token.length() - secondDot - 1 != ENCODED_SIGNATURE_LENGTH) {
+                return false;
+            }
+            if (signedBytes.length < secondDot) {
+                signedBytes = new byte[Math.max(secondDot, signedBytes.length * 2)];
+            }
+            for (int i = 0; i < secondDot; i++) {
+                char c = token.charAt(i);
+                if (c > 0x7F) {
+                    return false;
+                }
+                signedBytes[i] = (byte) c;
+            }
+
+            Mac keyed = macFor(secretKey);
+            keyed.update(signedBytes, 0, secondDot);
+            keyed.doFinal(hmac, 0);
+            BASE64_URL_ENCODER.encode(hmac, signatureBase64);
+            BASE64_URL_ENCODER.encode(signatureBase64, expectedSignature);
+
+            int diff = 0;
+            for (int i = 0; i < ENCODED_SIGNATURE_LENGTH; i++) {
+                diff |= expectedSignature[i] ^ token.charAt(secondDot + 1 + i);
+            }
+            return diff == 0;
+        }
+
+        /**
+         * Decodes the Base64URL payload between {@code start} and {@code end} and streams its claims.
+         */
+        private JwtClaims parseClaims(String token, int start, int end) throws IOException {
+            int length = decodeBase64Url(token, start, end);
+            if (length < 0) {
+                log.warn("Invalid JWT token: payload is not Base64URL");
+                return null;
+            }
+
+            String subject = null;
+            String issuer = null;
+            long issuedAt = 0;
+            Long expiresAt = null;
+            try (JsonParser parser = jsonFactory.createParser(payloadBytes, 0, length)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    log.warn("Invalid JWT token: payload is not a JSON object");
+                    return null;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    switch (name) {
+                        case "sub" -> subject = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        case "iss" -> issuer = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        case "iat" -> issuedAt = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : 0;
+                        case "exp" -> expiresAt = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                        default -> parser.skipChildren();
+                    }
+                }
+            }
+
+            if (expiresAt == null) {
+                log.warn("JWT token has no expiration claim");
+                return null;
+            }
+            return new JwtClaims(subject, issuer, issuedAt, expiresAt);
+        }
+
+        /**
+         * Decodes unpadded (or padded) Base64URL into {@link #payloadBytes}.
+         *
+         * @return the number of decoded bytes, or -1 if the input is not valid Base64URL
+         */
+        private int decodeBase64Url(String token, int start, int end) {
+            while (end > start && token.charAt(end - 1) == '=') {
+                end--;
+            }
+            int chars = end - start;
+            if (chars % 4 == 1) {
+                return -1;
+            }
+            int length = chars / 4 * 3 + Math.max(0, chars % 4 - 1);
+            if (payloadBytes.length < length) {
+                payloadBytes = new byte[Math.max(length, payloadBytes.length * 2)];
+            }
+
+            int bits = 0;
+            int bitCount = 0;
+            int out = 0;
+            for (int i = start; i < end; i++) {
+                char c = token.charAt(i);
+                int value = c < 128 ? BASE64_URL_VALUES[c] : -1;
+                if (value < 0) {
+                    return -1;
+                }
+                bits = (bits << 6) | value;
+                bitCount += 6;
+                if (bitCount >= 8) {
+                    bitCount -= 8;
+                    payloadBytes[out++] = (byte) (bits >> bitCount);
+                }
+            }
+            return out;
+        }
     }
 }
\ No newline at end of file
@@ -1,86 +1,282 @@
 package com.spring.fortress.vehicles.utils;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
+import com.spring.fortress.vehicles.models.EmailOutbox;
+import com.spring.fortress.vehicles.services.EmailOutboxService;
+import com.spring.fortress.vehicles.services.EmailTemplateService;
+import com.spring.fortress.vehicles.services.SchedulerLockService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Scheduled job that warns owners about electricity tokens that are about to expire.
+ * <p>
+ * Each run scans the issued tokens expiring between the checkpoint and {@code window} from now, walking the
+ * {@code expires_at} index in chunks of {@code chunk-size} tokens ordered by {@code (expires_at, id)}. The
+ * tokens of a chunk are grouped per owner into one email each, and the emails are queued in the outbox
+ * together with the new checkpoint in one transaction, so the outbox dispatcher's bounded sender pool
+ * delivers them and a restart resumes after the last queued chunk without notifying anyone twice. An owner
+ * whose tokens span two chunks receives one email per chunk. Tokens that expired while the job was not
+ * running are not notified.
+ * </p>
+ * <p>
+ * The scan is split into shards by meter-number range at {@code shard-boundaries}, each with its own
+ * checkpoint and its own lease in {@link SchedulerLockService}. Every node fires the job, takes the lease of
+ * each free shard, starting at a random one, and scans it; so every shard is scanned by exactly one node per
+ * tick, and more nodes work through more shards at once. Each chunk extends the lease in the transaction that
+ * queues it, so a node that lost its lease, for example after a long GC pause, commits nothing and stops
+ * instead of moving the checkpoint under the node that took over. Changing the boundaries starts the new shards from
+ * the current time, which may notify tokens already in the window a second time.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class TokenEmailNotifier {
 
-    private final JavaMailSender mailSender;
-    private final SpringTemplateEngine templateEngine;
+    private static final String JOB_KEY = "token-expiry";
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final String TEMPLATE = "token-expiration-notifier";
+    private static final DateTimeFormatter SUBJECT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private static final String SELECT_EXPIRING_SQL =
+            "SELECT t.id, t.token_value, t.expires_at, m.meter_number, u.email, u.first_name, u.last_name " +
+            "FROM TOKEN t FORCE INDEX (idx_token_expires) " +
+            "JOIN METER m ON m.id = t.meter_id " +
+            "JOIN owners o ON o.id = m.owner_id " +
+            "JOIN users u ON u.id = o.user_id " +
+            "WHERE t.status = 'ISSUED' AND t.expires_at <= ? " +
+            "AND (t.expires_at > ? OR (t.expires_at = ? AND t.id > ?))";
+    private static final String ORDER_BY_SQL = " ORDER BY t.expires_at, t.id LIMIT ?";
+    private static final String SELECT_CHECKPOINT_SQL =
+            "SELECT last_expires_at, last_token_id FROM TOKEN_NOTIFICATION_CHECKPOINT WHERE job_key = ?";
+    private static final String UPSERT_CHECKPOINT_SQL =
+            "INSERT INTO TOKEN_NOTIFICATION_CHECKPOINT (job_key, last_expires_at, last_token_id, updated_at) " +
+            "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE last_expires_at = VALUES(last_expires_at), " +
+            "last_token_id = VALUES(last_token_id), updated_at = VALUES(updated_at)";
 
-    private static final String TARGET_EMAIL = "kayumbaj88@gmail.com";
-    private static final String TARGET_USER_NAME = "Kayumba";
+    private static final RowMapper<ExpiringToken> ROW_MAPPER = (rs, rowNum) -> new ExpiringToken(
+            rs.getLong("id"),
+            rs.getString("token_value"),
+            rs.getTimestamp("expires_at").toLocalDateTime(),
+            rs.getString("meter_number"),
+            rs.getString("email"),
+            rs.getString("first_name") + " " + rs.getString("last_name"));
 
-    @Scheduled(fixedRate = 600000) // 10 minutes
-    public void sendScheduledTokenExpirationEmail() {
-        try {
-            List<String> sampleExpiredTokens = generateSampleExpiredTokens();
-            log.info("Sending scheduled token expiration email to {}", TARGET_EMAIL);
-            sendTokenExpirationEmail(TARGET_EMAIL, TARGET_USER_NAME, sampleExpiredTokens);
-        } catch (Exception e) {
-            log.error("Failed to send scheduled token expiration email: {}", e.getMessage(), e);
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailOutboxService emailOutbox;
+    private final EmailTemplateService templates;
+    private final SchedulerLockService locks;
+    private final Duration window;
+    private final Duration holdAtLeast;
+    private final int chunkSize;
+    private final List<Shard> shards;
+    // A lock rather than synchronized, so a virtual thread waiting on JDBC does not pin its carrier
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public TokenEmailNotifier(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              EmailOutboxService emailOutbox,
+                              EmailTemplateService templates,
+                              SchedulerLockService locks,
+                              @Value("${electricity.expiry-notice.window-hours:72}") long windowHours,
+                              @Value("${electricity.expiry-notice.chunk-size:500}") int chunkSize,
+                              @Value("${electricity.expiry-notice.interval-ms:600000}") long intervalMs,
+                              @Value("${electricity.expiry-notice.shard-boundaries:}") String[] shardBoundaries) {
+        if (windowHours < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException(
+                    "electricity.expiry-notice.window-hours and chunk-size must be at least 1");
         }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emailOutbox = emailOutbox;
+        this.templates = templates;
+        this.locks = locks;
+        this.window = Duration.ofHours(windowHours);
+        // Long enough that nodes firing the same tick a little later skip it, short enough for the next tick
+        this.holdAtLeast = Duration.ofMillis(intervalMs / 2);
+        this.chunkSize = chunkSize;
+        this.shards = shards(shardBoundaries);
+    }
+
+    /**
+     * A range of meter numbers scanned as one unit, from {@code from} inclusive to {@code to} exclusive;
+     * {@code null} leaves a side open.
+     */
+    private record Shard(String key, String from, String to) {
+    }
+
+    /**
+     * A token about to expire, with the owner to notify.
+     */
+    private record ExpiringToken(long id, String tokenValue, LocalDateTime expiresAt, String meterNumber,
+                                 String email, String ownerName) {
     }
 
-    public void sendTokenExpirationEmail(String toEmail, String userName, List<String> expiredTokens)
-            throws MessagingException {
-        if (toEmail == null || toEmail.trim().isEmpty()) {
-            throw new IllegalArgumentException("Recipient email cannot be null or empty");
+    /**
+     * The {@code (expires_at, id)} position the next chunk starts after.
+     */
+    private record Position(LocalDateTime expiresAt, long id) {
+    }
+
+    /**
+     * Queues expiry notices for the tokens that entered the notice window since the last run, in every
+     * shard whose lease this node takes.
+     */
+    @Scheduled(fixedDelayString = "${electricity.expiry-notice.interval-ms:600000}")
+    public void notifyExpiringTokens() {
+        if (!runLock.tryLock()) {
+            return;
         }
-        if (userName == null || userName.trim().isEmpty()) {
-            throw new IllegalArgumentException("User name cannot be null or empty");
+        try {
+            int first = ThreadLocalRandom.current().nextInt(shards.size());
+            for (int i = 0; i < shards.size(); i++) {
+                Shard shard = shards.get((first + i) % shards.size());
+                locks.runExclusively(shard.key(), LEASE, holdAtLeast, () -> scan(shard));
+            }
+        } finally {
+            runLock.unlock();
         }
+    }
 
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+    private void scan(Shard shard) {
+        try {
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            LocalDateTime horizon = now.plus(window);
+            Position position = startPosition(shard, now);
+            int tokens = 0;
+            int emails = 0;
+            while (true) {
+                List<ExpiringToken> chunk = readChunk(shard, horizon, position);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                ExpiringToken last = chunk.get(chunk.size() - 1);
+                position = new Position(last.expiresAt(), last.id());
+                int queued = queueChunk(shard, chunk, position, now);
+                if (queued < 0) {
+                    log.warn("Lost the lease on {}, another node resumes from the checkpoint", shard.key());
+                    break;
+                }
+                emails += queued;
+                tokens += chunk.size();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+            if (tokens > 0) {
+                log.info("Queued {} token expiration emails covering {} tokens expiring before {} in {}",
+                        emails, tokens, horizon, shard.key());
+            }
+        } catch (RuntimeException e) {
+            log.error("Token expiry notification run of {} failed, will resume from the checkpoint: {}",
+                    shard.key(), e.getMessage(), e);
+        }
+    }
 
-        helper.setFrom(fromEmail);
-        helper.setTo(toEmail);
-        helper.setSubject("Electricity Token Expiration Notice - " +
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    private List<ExpiringToken> readChunk(Shard shard, LocalDateTime horizon, Position position) {
+        Timestamp after = Timestamp.valueOf(position.expiresAt());
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(horizon), after, after, position.id()));
+        StringBuilder sql = new StringBuilder(SELECT_EXPIRING_SQL);
+        if (shard.from() != null) {
+            sql.append(" AND m.meter_number >= ?");
+            args.add(shard.from());
+        }
+        if (shard.to() != null) {
+            sql.append(" AND m.meter_number < ?");
+            args.add(shard.to());
+        }
+        sql.append(ORDER_BY_SQL);
+        args.add(chunkSize);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
 
-        Context context = new Context();
-        context.setVariable("userName", userName);
-        context.setVariable("expiredTokens", expiredTokens);
-        context.setVariable("currentDateTime", LocalDateTime.now());
-        context.setVariable("dateFormatter", DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        context.setVariable("recommendation",
-                "Please purchase a new token to ensure uninterrupted electricity supply.");
+    private Position startPosition(Shard shard, LocalDateTime now) {
+        List<Position> checkpoints = jdbcTemplate.query(SELECT_CHECKPOINT_SQL, (rs, rowNum) -> new Position(
+                rs.getTimestamp("last_expires_at").toLocalDateTime(), rs.getLong("last_token_id")), shard.key());
+        if (checkpoints.isEmpty() || checkpoints.get(0).expiresAt().isBefore(now)) {
+            return new Position(now, 0L);
+        }
+        return checkpoints.get(0);
+    }
 
-        String htmlContent = templateEngine.process("token-expiration-notifier", context);
-        helper.setText(htmlContent, true);
+    /**
+     * Queues the emails of a chunk and moves the checkpoint past it, unless this node no longer holds the lease.
+     *
+     * @return the number of emails queued, or {@code -1} if the lease was lost and nothing was queued
+     */
+    private int queueChunk(Shard shard, List<ExpiringToken> chunk, Position checkpoint, LocalDateTime now) {
+        Map<String, List<ExpiringToken>> byOwner = new LinkedHashMap<>();
+        for (ExpiringToken token : chunk) {
+            byOwner.computeIfAbsent(token.email(), email -> new ArrayList<>()).add(token);
+        }
+
+        String subject = "Electricity Token Expiration Notice - " + now.format(SUBJECT_FORMAT);
+        String generatedAt = now.format(TIME_FORMAT);
+        List<EmailOutbox> emails = new ArrayList<>(byOwner.size());
+        for (List<ExpiringToken> tokens : byOwner.values()) {
+            List<String> lines = new ArrayList<>(tokens.size());
+            for (ExpiringToken token : tokens) {
+                lines.add(token.tokenValue() + " (meter " + token.meterNumber() + ", expires " +
+                        token.expiresAt().format(TIME_FORMAT) + " UTC)");
+            }
+            String body = templates.render(TEMPLATE, Map.of(
+                    "userName", tokens.get(0).ownerName(),
+                    "expiredTokens", lines,
+                    "generatedAt", generatedAt));
+            emails.add(EmailOutbox.builder()
+                    .recipient(tokens.get(0).email())
+                    .subject(subject)
+                    .body(body)
+                    .build());
+        }
 
-        mailSender.send(message);
-        log.info("Successfully sent token expiration email to {} at {}", toEmail, LocalDateTime.now());
+        Boolean queued = transactionTemplate.execute(status -> {
+            // Extending the lease locks its row until commit, so no other node can take it in between
+            if (!locks.extend(shard.key(), LEASE)) {
+                return false;
+            }
+            emailOutbox.enqueue(emails);
+            jdbcTemplate.update(UPSERT_CHECKPOINT_SQL, shard.key(), Timestamp.valueOf(checkpoint.expiresAt()),
+                    checkpoint.id(), Timestamp.valueOf(now));
+            return true;
+        });
+        return Boolean.TRUE.equals(queued) ? emails.size() : -1;
     }
 
-    private List<String> generateSampleExpiredTokens() {
-        Random random = new Random();
-        return Arrays.asList(
-                "TOKEN-" + (1000 + random.nextInt(9000)),
-                "TOKEN-" + (1000 + random.nextInt(9000)),
-                "TOKEN-" + (1000 + random.nextInt(9000))
-        );
+    private static List<Shard> shards(String[] boundaries) {
+        String[] sorted = Arrays.stream(boundaries).map(String::trim).filter(b -> !b.isEmpty())
+                .distinct().sorted().toArray(String[]::new);
+        if (sorted.length == 0) {
+            return List.of(new Shard(JOB_KEY, null, null));
+        }
+        List<Shard> shards = new ArrayList<>(sorted.length + 1);
+        shards.add(new Shard(JOB_KEY + "/", null, sorted[0]));
+        for (int i = 0; i < sorted.length; i++) {
+            shards.add(new Shard(JOB_KEY + "/" + sorted[i], sorted[i], i + 1 < sorted.length ? sorted[i + 1] : null));
+        }
+        return shards;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.spring.fortress.vehicles.utils;
+
+import com.spring.fortress.vehicles.models.Vehicle;
+import com.spring.fortress.vehicles.services.VehicleSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hibernate event listener that keeps the {@link VehicleSearchIndex} up to date with vehicles saved on this node.
+ * A vehicle is indexed once its transaction commits, so a rolled-back registration never becomes searchable; an
+ * updated vehicle is re-indexed under its new fields the same way.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class VehicleSearchEventListener implements PostInsertEventListener, PostUpdateEventListener {
+
+    private final VehicleSearchIndex vehicleSearchIndex;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Vehicle vehicle) {
+            indexAfterCommit(vehicle);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Vehicle vehicle) {
+            indexAfterCommit(vehicle);
+        }
+    }
+
+    private void indexAfterCommit(Vehicle vehicle) {
+        long id = vehicle.getId();
+        String chassisNumber = vehicle.getChassisNumber();
+        String manufacturer = vehicle.getManufacturer();
+        String modelName = vehicle.getModelName();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            vehicleSearchIndex.add(id, chassisNumber, manufacturer, modelName);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                vehicleSearchIndex.add(id, chassisNumber, manufacturer, modelName);
+            }
+        });
+    }
+
+    /**
+     * Indicates whether post-commit handling is required.
+     *
+     * @param persister the entity persister
+     * @return {@code false}, as commit is tracked through the Spring transaction instead
+     */
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
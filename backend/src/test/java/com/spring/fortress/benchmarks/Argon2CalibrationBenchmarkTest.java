@@ -0,0 +1,64 @@
+package com.spring.fortress.benchmarks;
+
+import com.spring.fortress.vehicles.security.CalibratedArgon2PasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calibrates the Argon2 policy on this machine, prints what a verify costs under it and checks which stored
+ * hashes it asks to rehash. Calibrating takes several seconds, so it only runs when asked for:
+ * <pre>
+ * mvn test -Dtest=Argon2CalibrationBenchmarkTest -Dbenchmark.enabled=true -Dbenchmark.argon2.target-ms=250
+ * </pre>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@EnabledIfSystemProperty(named = "benchmark.enabled", matches = "true")
+class Argon2CalibrationBenchmarkTest {
+
+    private static final long TARGET_MS = Long.getLong("benchmark.argon2.target-ms", 250);
+    private static final int MAX_MEMORY_KB = Integer.getInteger("benchmark.argon2.max-memory-kb", 65536);
+    private static final int MIN_MEMORY_KB = 19456;
+    private static final int VERIFIES = 5;
+    private static final String PASSWORD = "Fortress@2024";
+
+    @Test
+    void calibratesToTargetAndFlagsOtherPolicies() {
+        CalibratedArgon2PasswordEncoder encoder =
+                CalibratedArgon2PasswordEncoder.calibrate(TARGET_MS, MAX_MEMORY_KB, MIN_MEMORY_KB, 1);
+        String hash = encoder.encode(PASSWORD);
+
+        long[] runs = new long[VERIFIES];
+        for (int i = 0; i < VERIFIES; i++) {
+            long start = System.nanoTime();
+            assertTrue(encoder.matches(PASSWORD, hash));
+            runs[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(runs);
+        System.out.printf("Argon2 verify: %s -> median %.1f ms (target %d ms, %d KiB per hash)%n",
+                hash.substring(0, hash.lastIndexOf('$', hash.lastIndexOf('$') - 1)),
+                runs[VERIFIES / 2] / 1e6, TARGET_MS, encoder.memoryKb());
+
+        // The previous hard-coded policy, and one far costlier than this machine's, both need a rehash
+        String legacy = new Argon2PasswordEncoder(16, 8, 2, 65536, 4).encode(PASSWORD);
+        String costlier = new Argon2PasswordEncoder(16, 32, 1, encoder.memoryKb() * 2, 20).encode(PASSWORD);
+        assertTrue(encoder.matches(PASSWORD, legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+        assertTrue(encoder.upgradeEncoding(costlier));
+
+        // One pass more, as a node calibrating a little faster would pick, is within the tolerance band
+        String[] params = hash.split("\\$")[3].split(",");
+        int iterations = Integer.parseInt(params[1].substring(2));
+        String onePassMore = new Argon2PasswordEncoder(16, 32, 1, encoder.memoryKb(), iterations + 1).encode(PASSWORD);
+        assertFalse(encoder.upgradeEncoding(onePassMore));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}$2a$10$abcdefghijklmnopqrstuv"));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+}
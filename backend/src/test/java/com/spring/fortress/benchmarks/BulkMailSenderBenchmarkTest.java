@@ -0,0 +1,222 @@
+package com.spring.fortress.benchmarks;
+
+import com.spring.fortress.vehicles.services.BulkMailSender;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares one SMTP session per email with {@link BulkMailSender} against a fake SMTP server on localhost.
+ * <p>
+ * The server speaks just enough plain SMTP for Jakarta Mail, counts connections and accepted messages, and
+ * waits {@value #HANDSHAKE_DELAY_MS} ms before its greeting to stand in for the TCP, STARTTLS and AUTH round
+ * trips of a real mail server. Recipients in the {@code reject.test} domain are refused, to check that a
+ * failure is reported for its own message only. The session and failure checks run with every build; the
+ * timed comparison sends one session per email and only runs when asked for:
+ * </p>
+ * <pre>
+ * mvn test -Dtest=BulkMailSenderBenchmarkTest -Dbenchmark.enabled=true -Dbenchmark.emails=500
+ * </pre>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class BulkMailSenderBenchmarkTest {
+
+    private static final int EMAILS = Integer.getInteger("benchmark.emails", 120);
+    private static final int BATCH_SIZE = 25;
+    private static final long HANDSHAKE_DELAY_MS = 20;
+
+    private FakeSmtpServer server;
+    private JavaMailSenderImpl mailSender;
+    private BulkMailSender bulkMailSender;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new FakeSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.port());
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "5000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "5000");
+        bulkMailSender = new BulkMailSender(mailSender, BATCH_SIZE);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void reusesOneSessionPerBatch() throws MessagingException {
+        int emails = BATCH_SIZE * 2 + 1;
+        Map<Integer, Exception> failures = bulkMailSender.sendBatch(messages(emails, -1));
+
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures);
+        assertEquals(emails, server.messages.get());
+        assertEquals((emails + BATCH_SIZE - 1) / BATCH_SIZE, server.connections.get());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.enabled", matches = "true")
+    void comparesThroughputWithOneSessionPerEmail() throws MessagingException {
+        List<MimeMessage> messages = messages(EMAILS, -1);
+
+        long start = System.nanoTime();
+        Map<Integer, Exception> failures = bulkMailSender.sendBatch(messages);
+        double batchedSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures);
+        assertEquals((EMAILS + BATCH_SIZE - 1) / BATCH_SIZE, server.connections.get());
+
+        server.reset();
+        start = System.nanoTime();
+        for (MimeMessage message : messages(EMAILS, -1)) {
+            mailSender.send(message);
+        }
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(EMAILS, server.connections.get());
+
+        System.out.printf("SMTP sends: one session per email %.0f/s, batched %.0f/s (%.1fx) for %d emails%n",
+                EMAILS / singleSeconds, EMAILS / batchedSeconds, singleSeconds / batchedSeconds, EMAILS);
+    }
+
+    @Test
+    void reportsRejectedRecipientsByPosition() throws MessagingException {
+        int rejected = BATCH_SIZE + 3;
+        Map<Integer, Exception> failures = bulkMailSender.sendBatch(messages(BATCH_SIZE * 2, rejected));
+
+        assertEquals(1, failures.size());
+        assertTrue(failures.containsKey(rejected));
+        assertEquals(BATCH_SIZE * 2 - 1, server.messages.get());
+        assertEquals(2, server.connections.get());
+    }
+
+    private List<MimeMessage> messages(int count, int rejected) throws MessagingException {
+        List<MimeMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom("noreply@fortress.test");
+            helper.setTo(i == rejected ? "user" + i + "@reject.test" : "user" + i + "@fortress.test");
+            helper.setSubject("Token expiration notice " + i);
+            helper.setText("<p>Your token expired.</p>", true);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    /**
+     * A plain-text SMTP server that accepts every message except those to {@code reject.test}.
+     */
+    private static final class FakeSmtpServer implements AutoCloseable {
+
+        private final ServerSocket socket;
+        private final ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fake-smtp");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger messages = new AtomicInteger();
+
+        FakeSmtpServer() throws IOException {
+            socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            sessions.execute(this::accept);
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        void reset() {
+            connections.set(0);
+            messages.set(0);
+        }
+
+        private void accept() {
+            while (!socket.isClosed()) {
+                try {
+                    Socket client = socket.accept();
+                    connections.incrementAndGet();
+                    sessions.execute(() -> serve(client));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket client) {
+            try (client;
+                 BufferedReader in = new BufferedReader(
+                         new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+                 OutputStream out = client.getOutputStream()) {
+                Thread.sleep(HANDSHAKE_DELAY_MS);
+                reply(out, "220 localhost fake SMTP");
+                boolean rejected = false;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("EHLO")) {
+                        reply(out, "250-localhost\r\n250 8BITMIME");
+                    } else if (command.startsWith("RCPT TO")) {
+                        rejected = command.contains("@REJECT.TEST");
+                        reply(out, rejected ? "550 mailbox unavailable" : "250 OK");
+                    } else if (command.startsWith("DATA")) {
+                        reply(out, "354 end data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Message content is not inspected
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK");
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 bye");
+                        return;
+                    } else {
+                        // HELO, MAIL FROM, RSET and NOOP
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private static void reply(OutputStream out, String response) throws IOException {
+            out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+            sessions.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.spring.fortress.benchmarks;
+
+import com.spring.fortress.vehicles.services.EmailTemplateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.Year;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering {@value #MAILS} personalised token expiration emails with Thymeleaf per recipient
+ * against the cached skeletons of {@link EmailTemplateService}.
+ * <p>
+ * Run with:
+ * </p>
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/test-classpath.txt)" \
+ *     com.spring.fortress.benchmarks.EmailTemplateBenchmark
+ * </pre>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final int MAILS = 100_000;
+    private static final String TEMPLATE = "token-expiration-notifier";
+    private static final String SUPPORT_EMAIL = "support@fortress.rw";
+
+    private SpringTemplateEngine templateEngine;
+    private EmailTemplateService templates;
+    private String[] userNames;
+    private List<List<String>> expiredTokens;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        templates = new EmailTemplateService(templateEngine, SUPPORT_EMAIL, Locale.ENGLISH);
+
+        userNames = new String[MAILS];
+        for (int i = 0; i < MAILS; i++) {
+            userNames[i] = "Driver <" + i + "> & Sons";
+        }
+        expiredTokens = List.of(
+                List.of("TOKEN-1001"),
+                List.of("TOKEN-2001", "TOKEN-2002", "TOKEN-2003"),
+                List.of("TOKEN-3001", "TOKEN-3002"));
+
+        String cached = render(0);
+        String direct = templateEngine.process(TEMPLATE, context(0));
+        if (!cached.equals(direct)) {
+            throw new IllegalStateException("Cached rendering differs from Thymeleaf:\n" + cached + "\n---\n" + direct);
+        }
+    }
+
+    @Benchmark
+    public void thymeleafPerRecipient(Blackhole blackhole) {
+        for (int i = 0; i < MAILS; i++) {
+            blackhole.consume(templateEngine.process(TEMPLATE, context(i)));
+        }
+    }
+
+    @Benchmark
+    public void cachedSkeleton(Blackhole blackhole) {
+        for (int i = 0; i < MAILS; i++) {
+            blackhole.consume(render(i));
+        }
+    }
+
+    private String render(int i) {
+        return templates.render(TEMPLATE, Map.of(
+                "userName", userNames[i],
+                "expiredTokens", expiredTokens.get(i % expiredTokens.size()),
+                "generatedAt", "2025-06-01 10:00:00"));
+    }
+
+    private Context context(int i) {
+        Context context = new Context(Locale.ENGLISH);
+        context.setVariable("supportEmail", SUPPORT_EMAIL);
+        context.setVariable("year", Year.now().getValue());
+        context.setVariable("userName", userNames[i]);
+        context.setVariable("expiredTokens", expiredTokens.get(i % expiredTokens.size()));
+        context.setVariable("generatedAt", "2025-06-01 10:00:00");
+        return context;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
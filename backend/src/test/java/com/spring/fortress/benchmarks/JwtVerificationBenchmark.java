@@ -0,0 +1,98 @@
+package com.spring.fortress.benchmarks;
+
+import com.spring.fortress.vehicles.config.JwtConfig;
+import com.spring.fortress.vehicles.security.JwtClaims;
+import com.spring.fortress.vehicles.security.VerifiedTokenCache;
+import com.spring.fortress.vehicles.utils.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a verified-token cache hit against full JWT verification.
+ * <p>
+ * {@code fullVerificationOnVirtualThread} verifies on a fresh virtual thread per call, as requests do with
+ * {@code spring.threads.virtual.enabled}; compared with {@code fullVerification} it shows what starting the
+ * thread costs and that the pooled {@code Mac} is still reused rather than rebuilt per request.
+ * </p>
+ * <p>
+ * Run with:
+ * </p>
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/test-classpath.txt)" \
+ *     com.spring.fortress.benchmarks.JwtVerificationBenchmark
+ * </pre>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-enough-entropy-for-hs256";
+
+    private String token;
+    private VerifiedTokenCache cache;
+    private ExecutorService virtualThreads;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecretKey(SECRET);
+        cache = new VerifiedTokenCache(jwtConfig, new SimpleMeterRegistry(), 50_000);
+        token = JwtUtil.createToken(SECRET, "driver@fortress.rw", "fortress", 3600);
+        if (cache.verify(token) == null) {
+            throw new IllegalStateException("Benchmark token does not verify");
+        }
+        virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        virtualThreads.close();
+    }
+
+    @Benchmark
+    public JwtClaims fullVerification() {
+        return JwtUtil.verify(token, SECRET);
+    }
+
+    @Benchmark
+    public JwtClaims fullVerificationOnVirtualThread() throws ExecutionException, InterruptedException {
+        return virtualThreads.submit(() -> JwtUtil.verify(token, SECRET)).get();
+    }
+
+    @Benchmark
+    public JwtClaims cacheHit() {
+        return cache.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
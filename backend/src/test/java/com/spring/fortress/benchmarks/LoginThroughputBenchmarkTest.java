@@ -0,0 +1,156 @@
+package com.spring.fortress.benchmarks;
+
+import com.spring.fortress.vehicles.enums.Account;
+import com.spring.fortress.vehicles.enums.Role;
+import com.spring.fortress.vehicles.models.User;
+import com.spring.fortress.vehicles.security.CalibratedArgon2PasswordEncoder;
+import com.spring.fortress.vehicles.security.MyUserPrincipal;
+import com.spring.fortress.vehicles.security.SecuringClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Guards the cost of a login: the authentication manager from {@link SecuringClass} must load the user once
+ * and verify the password once, and this test fails if either count grows.
+ * <p>
+ * Users come from an in-memory {@link UserDetailsService} and passwords are hashed with a pinned Argon2
+ * policy, so only the authentication pipeline is measured. The throughput comparison with the former flow,
+ * which verified the password itself and then called the authentication manager, hashes hundreds of
+ * passwords and only runs when asked for:
+ * </p>
+ * <pre>
+ * mvn test -Dtest=LoginThroughputBenchmarkTest -Dbenchmark.enabled=true -Dbenchmark.logins=400 \
+ *     -Dbenchmark.argon2.memory-kb=65536
+ * </pre>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class LoginThroughputBenchmarkTest {
+
+    private static final int LOGINS = Integer.getInteger("benchmark.logins", 100);
+    private static final int MEMORY_KB = Integer.getInteger("benchmark.argon2.memory-kb", 19456);
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final String PASSWORD = "Fortress@2024";
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger verifications = new AtomicInteger();
+    private UserDetailsService userDetailsService;
+    private PasswordEncoder passwordEncoder;
+    private AuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder argon2 = CalibratedArgon2PasswordEncoder.pinned(MEMORY_KB, 2, 1);
+        passwordEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return argon2.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                verifications.incrementAndGet();
+                return argon2.matches(rawPassword, encodedPassword);
+            }
+        };
+        String hash = argon2.encode(PASSWORD);
+        Map<String, User> users = Map.of(
+                "active@fortress.test", user("active@fortress.test", hash, Account.ACTIVE),
+                "pending@fortress.test", user("pending@fortress.test", hash, Account.PENDING));
+        userDetailsService = email -> {
+            lookups.incrementAndGet();
+            User user = users.get(email);
+            if (user == null) {
+                throw new UsernameNotFoundException("User not found with email: " + email);
+            }
+            return new MyUserPrincipal(user);
+        };
+        authenticationManager = new SecuringClass().authenticationManager(userDetailsService, passwordEncoder);
+    }
+
+    @Test
+    void loginLoadsAndVerifiesOnce() {
+        authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("active@fortress.test", PASSWORD));
+
+        assertEquals(1, lookups.get(), "User lookups per login");
+        assertEquals(1, verifications.get(), "Password verifications per login");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.enabled", matches = "true")
+    void comparesLoginThroughputWithTheFormerFlow() throws Exception {
+        double single = run(() -> authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("active@fortress.test", PASSWORD)));
+        assertEquals(LOGINS, lookups.get(), "User lookups per login");
+        assertEquals(LOGINS, verifications.get(), "Password verifications per login");
+
+        double former = run(() -> {
+            passwordEncoder.matches(PASSWORD, userDetailsService.loadUserByUsername("active@fortress.test")
+                    .getPassword());
+            authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated("active@fortress.test", PASSWORD));
+        });
+
+        System.out.printf("Logins: former flow %.1f/s, single pass %.1f/s (%.2fx) with %d threads at %d KiB%n",
+                former, single, single / former, THREADS, MEMORY_KB);
+    }
+
+    @Test
+    void checksAccountStatusOnlyAfterThePassword() {
+        assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("pending@fortress.test", "wrong")));
+        assertThrows(DisabledException.class, () -> authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("pending@fortress.test", PASSWORD)));
+        assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("missing@fortress.test", PASSWORD)));
+    }
+
+    /**
+     * Runs {@link #LOGINS} logins on {@link #THREADS} threads and returns logins per second.
+     */
+    private double run(Runnable login) throws Exception {
+        lookups.set(0);
+        verifications.set(0);
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> workers = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(pool.submit(() -> {
+                    while (next.getAndIncrement() < LOGINS) {
+                        login.run();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return LOGINS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static User user(String email, String hash, Account status) {
+        return User.builder().email(email).password(hash).status(status).role(Role.USER).build();
+    }
+}
@@ -0,0 +1,225 @@
+package com.spring.fortress.benchmarks;
+
+import com.spring.fortress.vehicles.dtos.request.TokenIssueRequest;
+import com.spring.fortress.vehicles.dtos.response.TokenIssueOutcome;
+import com.spring.fortress.vehicles.services.TokenIssuancePipeline;
+import com.spring.fortress.vehicles.utils.ElectricityTokenUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the TOKEN insert rate of the legacy MySQL triggers with the token issuance pipeline.
+ * <p>
+ * Needs a scratch MySQL schema, because it drops and recreates METER, TOKEN and TOKEN_AUDIT:
+ * </p>
+ * <pre>
+ * mvn test -Dtest=TokenInsertBenchmarkTest \
+ *     -Dbenchmark.jdbc.url="jdbc:mysql://localhost:3306/fortress_bench?rewriteBatchedStatements=true" \
+ *     -Dbenchmark.jdbc.username=root -Dbenchmark.jdbc.password=secret
+ * </pre>
+ * <p>
+ * The trigger run inserts one row per statement, as the JPA path did, with all five version 1.2 triggers
+ * installed. The pipeline run issues the same workload in batches with the triggers dropped.
+ * Both commit every {@value #BATCH_SIZE} tokens.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@EnabledIfSystemProperty(named = "benchmark.jdbc.url", matches = ".+")
+class TokenInsertBenchmarkTest {
+
+    private static final int BATCH_SIZE = 64;
+    private static final int TOKENS = Integer.getInteger("benchmark.tokens", 20_000);
+    private static final int METERS = Integer.getInteger("benchmark.meters", 200);
+
+    private static final String[] TRIGGERS = {
+            """
+            CREATE TRIGGER check_token_units BEFORE INSERT ON TOKEN FOR EACH ROW
+            BEGIN
+                IF NEW.units < 0 THEN
+                    SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Units cannot be negative';
+                END IF;
+            END""",
+            """
+            CREATE TRIGGER check_token_tid BEFORE INSERT ON TOKEN FOR EACH ROW
+            BEGIN
+                IF EXISTS (SELECT 1 FROM TOKEN t WHERE t.issued_at = NEW.issued_at AND t.meter_id = NEW.meter_id) THEN
+                    SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Duplicate TID detected';
+                END IF;
+            END""",
+            """
+            CREATE TRIGGER flag_expired_tokens BEFORE INSERT ON TOKEN FOR EACH ROW
+            BEGIN
+                IF NEW.expires_at <= NOW() THEN
+                    SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Token is already expired';
+                END IF;
+            END""",
+            """
+            CREATE TRIGGER update_meter_balance AFTER INSERT ON TOKEN FOR EACH ROW
+            BEGIN
+                UPDATE METER SET balance = balance + NEW.units WHERE id = NEW.meter_id;
+            END""",
+            """
+            CREATE TRIGGER log_token_usage AFTER INSERT ON TOKEN FOR EACH ROW
+            BEGIN
+                INSERT INTO TOKEN_AUDIT (token_value, meter_number, units, used_at, is_valid)
+                SELECT NEW.token_value, m.meter_number, NEW.units, NOW(), TRUE FROM METER m WHERE m.id = NEW.meter_id;
+            END"""
+    };
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static DataSourceTransactionManager transactionManager;
+    private static final ElectricityTokenUtil tokenUtil = new ElectricityTokenUtil();
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("benchmark.jdbc.url"),
+                System.getProperty("benchmark.jdbc.username", "root"),
+                System.getProperty("benchmark.jdbc.password", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        dropTriggers();
+        jdbcTemplate.execute("DROP TABLE IF EXISTS TOKEN_AUDIT, TOKEN, METER");
+        jdbcTemplate.execute("""
+                CREATE TABLE METER (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    meter_number VARCHAR(255) NOT NULL UNIQUE,
+                    balance DOUBLE NOT NULL,
+                    status VARCHAR(20) NOT NULL,
+                    owner_id BIGINT,
+                    last_top_up DATETIME(6),
+                    created_at DATETIME(6) NOT NULL)""");
+        jdbcTemplate.execute("""
+                CREATE TABLE TOKEN (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    token_value VARCHAR(23) NOT NULL,
+                    meter_id BIGINT NOT NULL,
+                    units DOUBLE NOT NULL,
+                    tid BIGINT NOT NULL,
+                    issued_at DATETIME(6) NOT NULL,
+                    expires_at DATETIME(6) NOT NULL,
+                    status VARCHAR(20) NOT NULL,
+                    redeemed_at DATETIME(6),
+                    UNIQUE KEY uk_token_meter_issued (meter_id, issued_at),
+                    UNIQUE KEY uk_token_meter_value (meter_id, token_value),
+                    KEY idx_token_value (token_value))""");
+        jdbcTemplate.execute("""
+                CREATE TABLE TOKEN_AUDIT (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    token_value VARCHAR(23) NOT NULL,
+                    meter_number VARCHAR(255) NOT NULL,
+                    units DOUBLE NOT NULL,
+                    used_at DATETIME(6) NOT NULL,
+                    is_valid BIT NOT NULL)""");
+
+        List<Object[]> meters = new ArrayList<>(METERS);
+        for (int m = 0; m < METERS; m++) {
+            meters.add(new Object[]{meterNumber(m), Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO METER (meter_number, balance, status, created_at) VALUES (?, 0, 'ACTIVE', ?)", meters);
+    }
+
+    @Test
+    void compareTriggerInsertsWithPipeline() {
+        clearTokens();
+        for (String trigger : TRIGGERS) {
+            jdbcTemplate.execute(trigger);
+        }
+        double triggerRate = measure("triggers", this::insertWithTriggers);
+        assertEquals(TOKENS, countTokens());
+
+        clearTokens();
+        dropTriggers();
+        TokenIssuancePipeline pipeline = new TokenIssuancePipeline(tokenUtil, jdbcTemplate, transactionManager);
+        double pipelineRate = measure("pipeline", () -> insertWithPipeline(pipeline));
+        assertEquals(TOKENS, countTokens());
+
+        System.out.printf("TOKEN inserts: triggers %.0f/s, pipeline %.0f/s (%.1fx) for %d tokens over %d meters%n",
+                triggerRate, pipelineRate, pipelineRate / triggerRate, TOKENS, METERS);
+    }
+
+    private void insertWithTriggers() {
+        long baseTid = tokenUtil.currentTid();
+        List<Long> meterIds = jdbcTemplate.queryForList("SELECT id FROM METER ORDER BY id", Long.class);
+        for (int start = 0; start < TOKENS; start += BATCH_SIZE) {
+            int from = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < Math.min(from + BATCH_SIZE, TOKENS); i++) {
+                    int meter = i % METERS;
+                    long tid = baseTid + i / METERS;
+                    LocalDateTime issuedAt = tokenUtil.tidToDateTime(tid);
+                    jdbcTemplate.update("INSERT INTO TOKEN (token_value, meter_id, units, tid, issued_at, " +
+                                    "expires_at, status) VALUES (?, ?, ?, ?, ?, ?, 'ISSUED')",
+                            tokenUtil.generateToken(meterNumber(meter), units(i), tid), meterIds.get(meter),
+                            units(i), tid, Timestamp.valueOf(issuedAt),
+                            Timestamp.valueOf(issuedAt.plusDays(TokenIssuancePipeline.TOKEN_VALIDITY_DAYS)));
+                }
+            });
+        }
+    }
+
+    private void insertWithPipeline(TokenIssuancePipeline pipeline) {
+        for (int start = 0; start < TOKENS; start += BATCH_SIZE) {
+            List<TokenIssueRequest> requests = new ArrayList<>(BATCH_SIZE);
+            for (int i = start; i < Math.min(start + BATCH_SIZE, TOKENS); i++) {
+                requests.add(new TokenIssueRequest(i, meterNumber(i % METERS), units(i)));
+            }
+            for (TokenIssueOutcome outcome : pipeline.issue(requests)) {
+                if (!outcome.isSuccess()) {
+                    throw new IllegalStateException("Pipeline rejected a token: " + outcome.error());
+                }
+            }
+        }
+    }
+
+    private static double measure(String label, Runnable run) {
+        long start = System.nanoTime();
+        run.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %d tokens in %.2f s%n", label, TOKENS, seconds);
+        return TOKENS / seconds;
+    }
+
+    private static void clearTokens() {
+        jdbcTemplate.execute("DELETE FROM TOKEN_AUDIT");
+        jdbcTemplate.execute("DELETE FROM TOKEN");
+        jdbcTemplate.execute("UPDATE METER SET balance = 0");
+    }
+
+    private static void dropTriggers() {
+        for (String trigger : List.of("check_token_units", "check_token_tid", "flag_expired_tokens",
+                "update_meter_balance", "log_token_usage")) {
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + trigger);
+        }
+    }
+
+    private static long countTokens() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TOKEN", Long.class);
+    }
+
+    private static String meterNumber(int meter) {
+        return String.format("BENCH%06d", meter);
+    }
+
+    private static double units(int i) {
+        return 10 + (i % 90) + 0.25;
+    }
+}
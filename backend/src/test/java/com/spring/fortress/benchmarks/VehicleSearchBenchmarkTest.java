@@ -0,0 +1,147 @@
+package com.spring.fortress.benchmarks;
+
+import com.spring.fortress.vehicles.services.VehicleSearchIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares vehicle search latency of the former {@code %LIKE%} scan with the in-memory {@link VehicleSearchIndex}.
+ * <p>
+ * Needs a scratch MySQL schema, because it drops and recreates the vehicles and plates tables:
+ * </p>
+ * <pre>
+ * mvn test -Dtest=VehicleSearchBenchmarkTest \
+ *     -Dbenchmark.jdbc.url="jdbc:mysql://localhost:3306/fortress_bench?rewriteBatchedStatements=true" \
+ *     -Dbenchmark.jdbc.username=root -Dbenchmark.jdbc.password=secret -Dbenchmark.vehicles=1000000
+ * </pre>
+ * <p>
+ * The index run includes reading the matching rows back by ID, as {@code VehicleService.search} does.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@EnabledIfSystemProperty(named = "benchmark.jdbc.url", matches = ".+")
+class VehicleSearchBenchmarkTest {
+
+    private static final int VEHICLES = Integer.getInteger("benchmark.vehicles", 1_000_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 50);
+    private static final int BATCH_SIZE = 5_000;
+    private static final int LIMIT = 50;
+
+    private static final String[] MANUFACTURERS = {"Toyota", "Volkswagen", "Mercedes", "Hyundai", "Nissan",
+            "Peugeot", "Mitsubishi", "Suzuki", "Renault", "Chevrolet"};
+    private static final String[] MODELS = {"Corolla", "Golf", "Sprinter", "Tucson", "Navara", "Partner",
+            "Pajero", "Swift", "Duster", "Cruze"};
+    private static final String[] QUERIES_BY_KIND = {"Corolla", "Sprint", "Mitsubishy", "Toyota Golf", "VIN00042"};
+
+    private static final String LIKE_SQL = "SELECT v.id FROM vehicles v LEFT JOIN plates p ON p.vehicle_id = v.id "
+            + "WHERE LOWER(v.chassis_number) LIKE ? OR LOWER(v.model_name) LIKE ? ORDER BY v.id LIMIT " + LIMIT;
+
+    private static JdbcTemplate jdbcTemplate;
+    private static VehicleSearchIndex index;
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("benchmark.jdbc.url"),
+                System.getProperty("benchmark.jdbc.username", "root"),
+                System.getProperty("benchmark.jdbc.password", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS plates, vehicles");
+        jdbcTemplate.execute("""
+                CREATE TABLE vehicles (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    chassis_number VARCHAR(255) NOT NULL UNIQUE,
+                    manufacturer VARCHAR(255) NOT NULL,
+                    manufactured_year INT NOT NULL,
+                    price DOUBLE NOT NULL,
+                    model_name VARCHAR(255) NOT NULL,
+                    owner_id BIGINT)""");
+        jdbcTemplate.execute("""
+                CREATE TABLE plates (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    plate_number VARCHAR(255) NOT NULL UNIQUE,
+                    vehicle_id BIGINT UNIQUE)""");
+
+        for (int start = 0; start < VEHICLES; start += BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (int i = start; i < Math.min(start + BATCH_SIZE, VEHICLES); i++) {
+                rows.add(new Object[]{String.format("VIN%08d", i), MANUFACTURERS[i % MANUFACTURERS.length],
+                        2000 + i % 25, 5_000 + i % 40_000, MODELS[i / MANUFACTURERS.length % MODELS.length]});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO vehicles (chassis_number, manufacturer, manufactured_year, "
+                    + "price, model_name) VALUES (?, ?, ?, ?, ?)", rows);
+        }
+
+        index = new VehicleSearchIndex(jdbcTemplate, 10_000, 1_000);
+        long start = System.nanoTime();
+        index.load();
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("Indexed %d vehicles in %.2f s, heap in use %d MiB%n", VEHICLES,
+                (System.nanoTime() - start) / 1e9, (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+    }
+
+    @Test
+    void compareLikeScanWithIndex() {
+        assertTrue(index.isReady());
+        for (String query : QUERIES_BY_KIND) {
+            long[] like = measure(query, term -> {
+                String pattern = "%" + term.toLowerCase() + "%";
+                return jdbcTemplate.queryForList(LIKE_SQL, Long.class, pattern, pattern);
+            });
+            long[] indexed = measure(query, term -> {
+                List<Long> ids = index.search(term, LIMIT);
+                if (ids.isEmpty()) {
+                    return ids;
+                }
+                String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+                return jdbcTemplate.queryForList("SELECT v.id, v.chassis_number, v.manufacturer, v.model_name "
+                        + "FROM vehicles v LEFT JOIN plates p ON p.vehicle_id = v.id WHERE v.id IN ("
+                        + placeholders + ")", ids.toArray());
+            });
+            System.out.printf("'%s' over %d vehicles: LIKE p50 %.2f ms p95 %.2f ms, index p50 %.2f ms p95 %.2f ms%n",
+                    query, VEHICLES, like[QUERIES / 2] / 1e6, like[QUERIES * 95 / 100] / 1e6,
+                    indexed[QUERIES / 2] / 1e6, indexed[QUERIES * 95 / 100] / 1e6);
+        }
+    }
+
+    @Test
+    void matchesPrefixesAndTypos() {
+        assertFalse(index.search("Sprint", LIMIT).isEmpty());
+        assertFalse(index.search("Mitsubishy", LIMIT).isEmpty());
+        assertEquals(43L, index.search("VIN00000042", LIMIT).get(0));
+        assertTrue(index.search("Lamborghini", LIMIT).isEmpty());
+        assertTrue(VehicleSearchIndex.matches("corola", "VIN00000042", "Toyota", "Corolla"));
+        assertFalse(VehicleSearchIndex.matches("golf", "VIN00000042", "Toyota", "Corolla"));
+    }
+
+    /**
+     * Runs a query {@link #QUERIES} times and returns the sorted latencies in nanoseconds.
+     */
+    private static long[] measure(String query, Function<String, List<?>> search) {
+        search.apply(query);
+        long[] runs = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            search.apply(query);
+            runs[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(runs);
+        return runs;
+    }
+}
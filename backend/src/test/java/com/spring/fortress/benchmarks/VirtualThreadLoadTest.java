@@ -0,0 +1,130 @@
+package com.spring.fortress.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares throughput and latency of the application with platform threads and with virtual threads.
+ * <p>
+ * Needs two running instances of the application against the same database, one started with
+ * {@code VIRTUAL_THREADS=false} and one with {@code VIRTUAL_THREADS=true}:
+ * </p>
+ * <pre>
+ * SERVER_PORT=9090 VIRTUAL_THREADS=false java -jar target/fortress-*.jar &amp;
+ * SERVER_PORT=9091 VIRTUAL_THREADS=true java -jar target/fortress-*.jar &amp;
+ * mvn test -Dtest=VirtualThreadLoadTest \
+ *     -Dbenchmark.load.platform-url=http://localhost:9090/fortress/api/v1/vehicles \
+ *     -Dbenchmark.load.virtual-url=http://localhost:9091/fortress/api/v1/vehicles \
+ *     -Dbenchmark.load.token=&lt;admin JWT&gt; -Dbenchmark.load.concurrency=400
+ * </pre>
+ * <p>
+ * Each instance gets a warm-up round and then {@code benchmark.load.requests} GET requests from
+ * {@code benchmark.load.concurrency} concurrent clients, and the results are printed side by side. Pick an
+ * endpoint that blocks on the database, since that is where the two modes differ.
+ * </p>
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+@EnabledIfSystemProperty(named = "benchmark.load.platform-url", matches = ".+")
+class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.load.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.load.concurrency", 200);
+    private static final int WARMUP_REQUESTS = Math.max(REQUESTS / 10, CONCURRENCY);
+    private static final String TOKEN = System.getProperty("benchmark.load.token", "");
+
+    private record Result(double requestsPerSecond, long p50Micros, long p95Micros, long p99Micros, int errors) {
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Result platform = load(client, System.getProperty("benchmark.load.platform-url"));
+        Result virtual = load(client, System.getProperty("benchmark.load.virtual-url",
+                System.getProperty("benchmark.load.platform-url")));
+
+        System.out.printf("%-9s %10s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors");
+        print("platform", platform);
+        print("virtual", virtual);
+        System.out.printf("virtual/platform throughput: %.2fx at concurrency %d%n",
+                virtual.requestsPerSecond() / platform.requestsPerSecond(), CONCURRENCY);
+        assertTrue(platform.errors() < REQUESTS && virtual.errors() < REQUESTS, "Every request failed");
+    }
+
+    private Result load(HttpClient client, String url) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).GET();
+        if (!TOKEN.isBlank()) {
+            builder.header("Authorization", "Bearer " + TOKEN);
+        }
+        HttpRequest request = builder.build();
+
+        run(client, request, WARMUP_REQUESTS, new long[WARMUP_REQUESTS], new AtomicInteger());
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        run(client, request, REQUESTS, latencies, errors);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return new Result(REQUESTS / seconds, percentile(latencies, 0.50), percentile(latencies, 0.95),
+                percentile(latencies, 0.99), errors.get());
+    }
+
+    private static void run(HttpClient client, HttpRequest request, int requests, long[] latencies,
+                            AtomicInteger errors) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>(CONCURRENCY);
+            for (int c = 0; c < CONCURRENCY; c++) {
+                workers.add(clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = (System.nanoTime() - sent) / 1000;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    private static void print(String mode, Result result) {
+        System.out.printf("%-9s %10.0f %10.1f %10.1f %10.1f %8d%n", mode, result.requestsPerSecond(),
+                result.p50Micros() / 1000.0, result.p95Micros() / 1000.0, result.p99Micros() / 1000.0,
+                result.errors());
+    }
+}
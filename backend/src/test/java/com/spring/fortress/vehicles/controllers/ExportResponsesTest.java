@@ -0,0 +1,37 @@
+package com.spring.fortress.vehicles.controllers;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link ExportResponses#acceptsGzip} reads the quality values of {@code Accept-Encoding} rather
+ * than looking for the word gzip.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class ExportResponsesTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', nullValues = "null", value = {
+            "gzip, deflate, br | true",
+            "GZIP | true",
+            "x-gzip | true",
+            "gzip;q=0.5 | true",
+            "gzip ; Q=1.0 | true",
+            "gzip;q=0 | false",
+            "gzip;q=0.000 | false",
+            "deflate, gzip;q=0, * | false",
+            "*;q=0.1 | true",
+            "identity, *;q=0 | false",
+            "br, deflate | false",
+            "gzip;q=high | false",
+            "'' | false",
+            "null | false"
+    })
+    void honoursQualityValues(String acceptEncoding, boolean expected) {
+        assertEquals(expected, ExportResponses.acceptsGzip(acceptEncoding));
+    }
+}
@@ -0,0 +1,149 @@
+package com.spring.fortress.vehicles.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that {@link MeterBalanceLedger} replays the journal segments left by a node that stopped without
+ * flushing, skips what its checkpoint already covers, and credits each token only once.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class MeterBalanceLedgerTest {
+
+    private static final String NODE = "node-a";
+    private static final LocalDateTime TOPPED_UP = LocalDateTime.of(2026, 3, 14, 9, 30);
+    private static final long TOPPED_UP_EPOCH = TOPPED_UP.toEpochSecond(ZoneOffset.UTC);
+
+    @TempDir
+    Path journalDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        checkpointAt(null);
+    }
+
+    @Test
+    void replaysUnflushedCreditsAfterRestart() throws IOException {
+        MeterBalanceLedger before = ledger();
+        assertTrue(before.credit(1L, "M-1", 10.25, TOPPED_UP));
+        assertTrue(before.credit(2L, "M-1", 4.75, TOPPED_UP.plusMinutes(5)));
+        assertTrue(before.credit(3L, "M-2", 1.0, TOPPED_UP));
+
+        MeterBalanceLedger after = ledger();
+        assertEquals(new MeterBalanceLedger.PendingBalance(15.0, TOPPED_UP.plusMinutes(5)), after.pending("M-1"));
+        assertEquals(new MeterBalanceLedger.PendingBalance(1.0, TOPPED_UP), after.pending("M-2"));
+        assertEquals(MeterBalanceLedger.PendingBalance.NONE, after.pending("M-3"));
+    }
+
+    @Test
+    void skipsAndDeletesSegmentsCoveredByTheCheckpoint() throws IOException {
+        Path covered = writeSegment(0, "1\t1025\t" + TOPPED_UP_EPOCH + "\tM-1\n");
+        writeSegment(1, "2\t475\t" + TOPPED_UP_EPOCH + "\tM-1\n");
+        checkpointAt(0L);
+
+        MeterBalanceLedger ledger = ledger();
+        assertEquals(4.75, ledger.pending("M-1").units());
+        assertFalse(Files.exists(covered));
+    }
+
+    @Test
+    void skipsMalformedAndTornEntries() throws IOException {
+        // A line without a token id is not a ledger entry either
+        writeSegment(0, "1250\t" + TOPPED_UP_EPOCH + "\tM-1\n"
+                + "not a ledger entry\n"
+                + "4\t300\t" + TOPPED_UP_EPOCH + "\tM-1\n"
+                + "5\t9900\t" + TOPPED_UP_EPOCH);
+
+        assertEquals(3.0, ledger().pending("M-1").units());
+    }
+
+    @Test
+    void tokenJournaledTwiceIsReplayedOnce() throws IOException {
+        String line = "7\t500\t" + TOPPED_UP_EPOCH + "\tM-1\n";
+        writeSegment(0, line);
+        writeSegment(1, line);
+
+        MeterBalanceLedger ledger = ledger();
+        assertEquals(5.0, ledger.pending("M-1").units());
+        assertFalse(ledger.credit(7L, "M-1", 5.0, TOPPED_UP));
+    }
+
+    @Test
+    void flushCreditsOnlyTheTokensItClaims() throws IOException {
+        writeSegment(0, "1\t1000\t" + TOPPED_UP_EPOCH + "\tM-1\n"
+                + "2\t2000\t" + TOPPED_UP_EPOCH + "\tM-1\n");
+        // Token 2 was already credited by another node
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE TOKEN"), anyList())).thenReturn(new int[]{1, 0});
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE METER"), anyList())).thenReturn(new int[]{1});
+
+        MeterBalanceLedger ledger = ledger();
+        ledger.flush();
+
+        List<Object[]> claims = batch("UPDATE TOKEN");
+        assertEquals(List.of(1L, 2L), claims.stream().map(row -> row[0]).toList());
+        List<Object[]> deltas = batch("UPDATE METER");
+        assertEquals(1, deltas.size());
+        assertEquals(10.0, deltas.get(0)[0]);
+        assertEquals("M-1", deltas.get(0)[2]);
+        assertEquals(MeterBalanceLedger.PendingBalance.NONE, ledger.pending("M-1"));
+    }
+
+    private MeterBalanceLedger ledger() throws IOException {
+        MeterBalanceLedger ledger = new MeterBalanceLedger(jdbcTemplate, transactionManager, 1,
+                journalDir.toString(), NODE, false, 60_000);
+        ledger.recover();
+        return ledger;
+    }
+
+    private void checkpointAt(Long segment) {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(NODE + "/0")))
+                .thenReturn(segment == null ? List.of() : List.of(segment));
+    }
+
+    private Path writeSegment(long seq, String content) throws IOException {
+        Path segment = journalDir.resolve(NODE).resolve(String.format("shard-000-%012d.log", seq));
+        Files.createDirectories(segment.getParent());
+        return Files.writeString(segment, content, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> batch(String sqlPrefix) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith(sqlPrefix), rows.capture());
+        return new ArrayList<>(rows.getValue());
+    }
+}
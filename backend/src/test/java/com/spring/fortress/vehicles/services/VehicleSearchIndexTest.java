@@ -0,0 +1,176 @@
+package com.spring.fortress.vehicles.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how {@link VehicleSearchIndex} ranks exact, prefix, infix and fuzzy matches, which typos it tolerates,
+ * that a re-indexed vehicle moves to its new terms, and that {@link VehicleSearchIndex#matches} applies the same
+ * rules to a single vehicle.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class VehicleSearchIndexTest {
+
+    private static final int LIMIT = 50;
+
+    private VehicleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = index(10_000);
+        index.add(1, "JTDBR32E720000001", "Toyota", "Corolla");
+        index.add(2, "JTDBR32E720000002", "Toyota", "Corolla Cross");
+        index.add(3, "JTDBR32E720000003", "Toyota", "Corollacross");
+        index.add(4, "JTDBR32E720000004", "Toyota", "Corola");
+        index.add(5, "SHHFK7H50JU000005", "Honda", "Civic");
+        index.add(6, "JMBXJCY2WNU000006", "Mitsubishi", "Pajero");
+    }
+
+    @Test
+    void ranksExactAbovePrefixAboveFuzzy() {
+        assertEquals(List.of(1L, 2L, 3L, 4L), index.search("corolla", LIMIT));
+    }
+
+    @Test
+    void ranksInfixBetweenPrefixAndFuzzy() {
+        index.add(7, "JTDBR32E720000007", "Toyota", "Xcorola");
+
+        // "corola" is exact for 4, inside "xcorola" for 7 and one edit from "corolla" for 1 and 2
+        assertEquals(List.of(4L, 7L, 1L, 2L), index.search("corola", LIMIT));
+        assertEquals(List.of(2L, 3L), index.search("cross", LIMIT));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "000005, 5",
+            "u00000, 5 6",
+            "32e7200, 1 2 3 4",
+            "toyota 0000003, 3",
+            "olla, 1 2 3",
+            "vic, 5",
+            "00, ''"
+    })
+    void findsPartialTermsByInfix(String query, String expected) {
+        assertEquals(ids(expected), index.search(query, LIMIT));
+    }
+
+    @Test
+    void reindexedVehicleMovesToItsNewTerms() {
+        index.add(5, "SHHFK7H50JU000005", "Honda", "Accord");
+        assertEquals(List.of(), index.search("civic", LIMIT));
+        assertEquals(List.of(), index.search("cvic", LIMIT));
+        assertEquals(List.of(5L), index.search("accord", LIMIT));
+        assertEquals(List.of(5L), index.search("honda", LIMIT));
+
+        index.add(4, "JTDBR32E720000004", "Nissan", "Sunny");
+        assertEquals(List.of(1L, 2L), index.search("corola", LIMIT));
+        assertEquals(List.of(1L, 2L, 3L), index.search("toyota", LIMIT));
+        assertEquals(List.of(4L), index.search("nissan sunny", LIMIT));
+    }
+
+    @Test
+    void reindexingUnchangedVehicleKeepsItsScores() {
+        index.add(1, "JTDBR32E720000001", "Toyota", "Corolla");
+        index.add(1, "JTDBR32E720000001", "Toyota", "Corolla");
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), index.search("toyota corolla", LIMIT));
+        assertEquals(List.of(1L, 2L, 3L, 4L), index.search("toyota", LIMIT));
+    }
+
+    @Test
+    void everyQueryTermMustMatchAndScoresAddUp() {
+        // "cross" also appears inside "corollacross"
+        assertEquals(List.of(2L, 3L), index.search("corolla cross", LIMIT));
+        assertEquals(List.of(), index.search("honda corolla", LIMIT));
+        // "corola" is exact for 4 and one edit from "corolla"; "corollacross" is neither
+        assertEquals(List.of(4L, 1L, 2L), index.search("Toyota Corola", LIMIT));
+    }
+
+    @Test
+    void breaksTiesById() {
+        index.add(9, "KMHJ3815GJU000009", "Hyundai", "Tucson");
+        index.add(7, "KMHJ3815GJU000007", "Hyundai", "Tucson");
+        index.add(8, "KMHJ3815GJU000008", "Hyundai", "Tucson");
+
+        assertEquals(List.of(7L, 8L, 9L), index.search("hyundai tucson", LIMIT));
+        assertEquals(List.of(7L, 8L), index.search("tucson", 2));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "hnda, 5",
+            "cvic, 5",
+            "mitsubishy, 6",
+            "mitsubsihi, 6",
+            "pajreo, ''",
+            "hnd, ''",
+            "civ, 5",
+            "shhfk7h50ju000005, 5",
+            "jtdbr32e720000009, 1 2 3 4",
+            "jtdbr32e729990001, ''"
+    })
+    void toleratesTyposByTermLength(String query, String expected) {
+        assertEquals(ids(expected), index.search(query, LIMIT));
+    }
+
+    @Test
+    void ignoresCaseAndPunctuation() {
+        assertEquals(List.of(5L), index.search("  HONDA, civic!", LIMIT));
+        assertEquals(List.of(), index.search(" - ", LIMIT));
+    }
+
+    @Test
+    void truncatesBroadTermsAtMaxCandidates() {
+        VehicleSearchIndex small = index(3);
+        for (long id = 1; id <= 5; id++) {
+            small.add(id, "VIN" + id, "Toyota", "Corolla");
+        }
+
+        assertEquals(3, small.search("toyota", LIMIT).size());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "corola, true",
+            "toyota corol, true",
+            "corolla cross, false",
+            "nissan, false",
+            "jtdbr32e720000001, true",
+            "0000001, true",
+            "orol, true",
+            "ol, false"
+    })
+    void matchesAppliesTheSameRules(String query, boolean expected) {
+        assertEquals(expected, VehicleSearchIndex.matches(query, "JTDBR32E720000001", "Toyota", "Corolla"));
+    }
+
+    @Test
+    void answersFromAddedVehiclesBeforeLoad() {
+        assertFalse(index.isReady());
+        assertEquals(List.of(1L, 2L, 3L, 4L), index.search("toyota", LIMIT));
+    }
+
+    private static List<Long> ids(String expected) {
+        return expected.isEmpty() ? List.of() : Arrays.stream(expected.split(" ")).map(Long::valueOf).toList();
+    }
+
+    private static VehicleSearchIndex index(int maxCandidates) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(mock(DataSource.class));
+        return new VehicleSearchIndex(jdbcTemplate, maxCandidates, 1_000);
+    }
+}
@@ -0,0 +1,156 @@
+package com.spring.fortress.vehicles.services;
+
+import com.spring.fortress.vehicles.dtos.response.VehiclePage;
+import com.spring.fortress.vehicles.dtos.response.VehicleSummary;
+import com.spring.fortress.vehicles.enums.VehicleSort;
+import com.spring.fortress.vehicles.exceptions.InvalidQueryException;
+import com.spring.fortress.vehicles.repositories.OwnerRepository;
+import com.spring.fortress.vehicles.repositories.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the keyset cursors of {@link VehicleService#list}: a cursor seeks past the last row of its page,
+ * ties on the sort column are broken by ID, and cursors that are malformed or belong to another order are
+ * rejected.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class VehicleServiceCursorTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private JdbcTemplate jdbcTemplate;
+    private VehicleService vehicleService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        vehicleService = new VehicleService(mock(VehicleRepository.class), mock(OwnerRepository.class),
+                jdbcTemplate, mock(VehicleSearchIndex.class), 500, 50);
+    }
+
+    @Test
+    void nextPageSeeksPastTheLastVehicleOfThePage() {
+        returnRows(vehicle(3, "VIN-A", 2019, 9_000), vehicle(8, "VIN|B", 2020, 9_000),
+                vehicle(5, "VIN-C", 2021, 12_000));
+        VehiclePage first = vehicleService.list(VehicleSort.CHASSIS_NUMBER, Sort.Direction.ASC, null, PAGE_SIZE);
+        assertEquals(PAGE_SIZE, first.vehicles().size());
+        assertNotNull(first.nextCursor());
+
+        returnRows(vehicle(5, "VIN-C", 2021, 12_000));
+        VehiclePage second = vehicleService.list(VehicleSort.CHASSIS_NUMBER, Sort.Direction.ASC,
+                first.nextCursor(), PAGE_SIZE);
+        assertNull(second.nextCursor());
+
+        // The separator inside the chassis number survives the round trip
+        Query query = lastQuery(2);
+        assertTrue(query.sql().endsWith(" WHERE (v.chassis_number > ? OR (v.chassis_number = ? AND v.id > ?))"
+                + " ORDER BY v.chassis_number ASC, v.id ASC LIMIT ?"), query.sql());
+        assertArrayEquals(new Object[]{"VIN|B", "VIN|B", 8L, PAGE_SIZE + 1}, query.args());
+    }
+
+    @Test
+    void tiesOnTheSortColumnAreBrokenById() {
+        returnRows(vehicle(9, "VIN-A", 2020, 15_000), vehicle(7, "VIN-B", 2020, 15_000),
+                vehicle(4, "VIN-C", 2020, 15_000));
+        VehiclePage first = vehicleService.list(VehicleSort.PRICE, Sort.Direction.DESC, null, PAGE_SIZE);
+
+        returnRows(vehicle(4, "VIN-C", 2020, 15_000));
+        vehicleService.list(VehicleSort.PRICE, Sort.Direction.DESC, first.nextCursor(), PAGE_SIZE);
+
+        Query query = lastQuery(2);
+        assertTrue(query.sql().endsWith(" WHERE (v.price < ? OR (v.price = ? AND v.id < ?))"
+                + " ORDER BY v.price DESC, v.id DESC LIMIT ?"), query.sql());
+        assertArrayEquals(new Object[]{15_000.0, 15_000.0, 7L, PAGE_SIZE + 1}, query.args());
+    }
+
+    @Test
+    void idOrderSeeksOnIdAlone() {
+        returnRows(vehicle(1, "VIN-A", 2020, 1), vehicle(2, "VIN-B", 2020, 1), vehicle(3, "VIN-C", 2020, 1));
+        VehiclePage first = vehicleService.list(VehicleSort.ID, Sort.Direction.ASC, null, PAGE_SIZE);
+
+        returnRows();
+        vehicleService.list(VehicleSort.ID, Sort.Direction.ASC, first.nextCursor(), PAGE_SIZE);
+
+        Query query = lastQuery(2);
+        assertTrue(query.sql().endsWith(" WHERE v.id > ? ORDER BY v.id ASC LIMIT ?"), query.sql());
+        assertArrayEquals(new Object[]{2L, PAGE_SIZE + 1}, query.args());
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSortOrDirection() {
+        returnRows(vehicle(1, "VIN-A", 2020, 1), vehicle(2, "VIN-B", 2021, 2), vehicle(3, "VIN-C", 2022, 3));
+        String cursor = vehicleService.list(VehicleSort.MANUFACTURED_YEAR, Sort.Direction.ASC, null, PAGE_SIZE)
+                .nextCursor();
+
+        InvalidQueryException otherSort = assertThrows(InvalidQueryException.class,
+                () -> vehicleService.list(VehicleSort.PRICE, Sort.Direction.ASC, cursor, PAGE_SIZE));
+        assertEquals("Cursor does not match the requested sort", otherSort.getMessage());
+        assertThrows(InvalidQueryException.class,
+                () -> vehicleService.list(VehicleSort.MANUFACTURED_YEAR, Sort.Direction.DESC, cursor, PAGE_SIZE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "PRICE|ASC|", "PRICE|ASC|12.5", "PRICE|ASC|cheap|4", "PRICE|ASC|12.5|four"})
+    void rejectsMalformedCursors(String position) {
+        String cursor = position.contains(" ") ? position
+                : Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+
+        InvalidQueryException e = assertThrows(InvalidQueryException.class,
+                () -> vehicleService.list(VehicleSort.PRICE, Sort.Direction.ASC, cursor, PAGE_SIZE));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    @Test
+    void rejectsPageSizeOutsideTheLimit() {
+        assertThrows(InvalidQueryException.class,
+                () -> vehicleService.list(VehicleSort.ID, Sort.Direction.ASC, null, 0));
+        assertThrows(InvalidQueryException.class,
+                () -> vehicleService.list(VehicleSort.ID, Sort.Direction.ASC, null, 501));
+    }
+
+    private record Query(String sql, Object[] args) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private void returnRows(VehicleSummary... rows) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(rows));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Query lastQuery(int calls) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(calls)).query(sql.capture(), any(RowMapper.class), args.capture());
+        return new Query(sql.getValue(), args.getValue());
+    }
+
+    private static VehicleSummary vehicle(long id, String chassisNumber, int year, double price) {
+        return new VehicleSummary(id, chassisNumber, "Toyota", year, price, "Corolla", null, null);
+    }
+}
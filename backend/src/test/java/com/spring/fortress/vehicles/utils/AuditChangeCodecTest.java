@@ -0,0 +1,106 @@
+package com.spring.fortress.vehicles.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link AuditChangeCodec} round-trips change-sets in the layout of MySQL's {@code COMPRESS()}
+ * and rejects truncated or corrupt input.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class AuditChangeCodecTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{}",
+            "{\"price\":{\"old\":15000.0,\"new\":14500.0}}",
+            "{\"ownerName\":{\"old\":\"Mukamana Aline\",\"new\":\"Uwase Hervé\"},\"note\":\"ébène — 測試\"}"
+    })
+    void roundTripsChangeSets(String json) {
+        assertEquals(json, AuditChangeCodec.decompress(AuditChangeCodec.compress(json)));
+    }
+
+    @Test
+    void roundTripsLargeChangeSet() {
+        String json = "{\"rows\":[" + "{\"plate\":\"RAB 123 A\"},".repeat(10_000) + "{}]}";
+        byte[] compressed = AuditChangeCodec.compress(json);
+
+        assertTrue(compressed.length < json.length() / 10);
+        assertEquals(json, AuditChangeCodec.decompress(compressed));
+    }
+
+    @Test
+    void storesUncompressedLengthLittleEndianLikeMySql() {
+        String json = "{\"note\":\"" + "x".repeat(300) + "é\"}";
+        int length = json.getBytes(StandardCharsets.UTF_8).length;
+        byte[] compressed = AuditChangeCodec.compress(json);
+
+        assertArrayEquals(new byte[]{(byte) length, (byte) (length >>> 8), 0, 0}, Arrays.copyOf(compressed, 4));
+        // A zlib header follows: CMF 0x78 and a check byte making the pair a multiple of 31
+        assertEquals(0x78, compressed[4] & 0xff);
+        assertEquals(0, ((compressed[4] & 0xff) << 8 | (compressed[5] & 0xff)) % 31);
+    }
+
+    @Test
+    void decompressesValuesWrittenByAnyZlibCompressor() {
+        byte[] raw = "{\"model\":{\"old\":\"Corolla\",\"new\":\"Camry\"}}".getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(raw.length);
+        out.write(0);
+        out.write(0);
+        out.write(0);
+        byte[] buffer = new byte[256];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+
+        assertEquals(new String(raw, StandardCharsets.UTF_8), AuditChangeCodec.decompress(out.toByteArray()));
+    }
+
+    @Test
+    void keepsNullAndEmptyAsMySqlDoes() {
+        assertNull(AuditChangeCodec.compress(null));
+        assertNull(AuditChangeCodec.decompress(null));
+        assertArrayEquals(new byte[0], AuditChangeCodec.compress(""));
+        assertEquals("", AuditChangeCodec.decompress(new byte[0]));
+    }
+
+    @Test
+    void rejectsTruncatedOrCorruptInput() {
+        byte[] compressed = AuditChangeCodec.compress("{\"price\":{\"old\":15000.0,\"new\":14500.0}}");
+
+        assertThrows(IllegalArgumentException.class, () -> AuditChangeCodec.decompress(new byte[]{1, 0, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> AuditChangeCodec.decompress(Arrays.copyOf(compressed, compressed.length - 6)));
+
+        byte[] corrupt = compressed.clone();
+        corrupt[4] = 0x00;
+        assertThrows(IllegalArgumentException.class, () -> AuditChangeCodec.decompress(corrupt));
+
+        byte[] tooLarge = compressed.clone();
+        tooLarge[3] = (byte) 0x80;
+        assertThrows(IllegalArgumentException.class, () -> AuditChangeCodec.decompress(tooLarge));
+
+        byte[] longerThanStored = compressed.clone();
+        longerThanStored[0]++;
+        assertThrows(IllegalArgumentException.class, () -> AuditChangeCodec.decompress(longerThanStored));
+    }
+}
@@ -0,0 +1,50 @@
+package com.spring.fortress.vehicles.utils;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that {@link CsvFields} quotes fields only when needed and guards text, but not numbers, against
+ * formula evaluation.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class CsvFieldsTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '`', nullValues = "null", value = {
+            "Corolla | Corolla",
+            "null | ``",
+            "`` | ``",
+            "Toyota, Japan | \"Toyota, Japan\"",
+            "12\" rims | \"12\"\" rims\"",
+            "=SUM(A1:A9) | '=SUM(A1:A9)",
+            "+250788000000 | '+250788000000",
+            "-1 | '-1",
+            "@admin | '@admin",
+            "=HYPERLINK(\"x\",\"y\") | \"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\""
+    })
+    void writesTextGuardedAgainstFormulas(String value, String expected) throws IOException {
+        StringWriter writer = new StringWriter();
+        CsvFields.writeText(writer, value);
+        assertEquals(expected, writer.toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '`', nullValues = "null", value = {
+            "-14500.5 | -14500.5",
+            "2026-03-14T09:30 | 2026-03-14T09:30",
+            "null | ``"
+    })
+    void writesOtherValuesUnguarded(String value, String expected) throws IOException {
+        StringWriter writer = new StringWriter();
+        CsvFields.writeValue(writer, value);
+        assertEquals(expected, writer.toString());
+    }
+}
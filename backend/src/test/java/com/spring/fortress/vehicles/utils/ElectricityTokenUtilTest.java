@@ -0,0 +1,125 @@
+package com.spring.fortress.vehicles.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the tokens produced by {@link ElectricityTokenUtil} to those of the original hex and
+ * {@code String.format} implementation, so tokens issued before the fast path keep verifying.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class ElectricityTokenUtilTest {
+
+    private static final List<Locale> LOCALES = List.of(Locale.US, Locale.GERMANY, Locale.FRANCE,
+            Locale.forLanguageTag("ar-EG"), Locale.forLanguageTag("hi-IN-u-nu-deva"));
+    private static final String[] METERS = {"12345678901", "METER-42", "00000000001", "MÈTRE7"};
+    private static final double[] UNITS = {0, 0.01, 5, 12.5, 100, 10.005, 99.999, 1234567.89, 1e16, -3.25};
+    private static final long[] TIDS = {0, 1, 987_654_321, 1_000_000_000};
+
+    private final ElectricityTokenUtil tokenUtil = new ElectricityTokenUtil();
+    private Locale defaultLocale;
+
+    @BeforeEach
+    void saveLocale() {
+        defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+    }
+
+    @AfterEach
+    void restoreLocale() {
+        Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "en-US, 12345678901, 100.0, 1000000000, 22682-67415-79989-12342",
+            "en-US, 12345678901, 0.01, 1, 39499-36128-94988-73236",
+            "en-US, METER-42, 12.5, 987654321, 57796-65687-80470-08017",
+            "en-US, 00000000001, 1234567.89, 0, 22299-10426-08908-88810",
+            "en-US, 12345678901, 10.005, 1000000000, 68672-87223-14902-64945",
+            "de-DE, 12345678901, 100.0, 1000000000, 13195-37037-00578-05382",
+            "de-DE, METER-42, 12.5, 987654321, 37289-29861-79128-69028",
+            "de-DE, 00000000001, 1234567.89, 0, 90112-45185-72626-09229"
+    })
+    void generatesGoldenTokens(String locale, String meterNumber, double units, long tid, String expected) {
+        Locale.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag(locale));
+        assertEquals(expected, tokenUtil.generateToken(meterNumber, units, tid));
+        assertTrue(tokenUtil.isTokenValid(expected, meterNumber, units, tid));
+    }
+
+    @Test
+    void matchesLegacyImplementationAcrossLocales() throws Exception {
+        for (Locale locale : LOCALES) {
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+            for (String meterNumber : METERS) {
+                for (double units : UNITS) {
+                    for (long tid : TIDS) {
+                        String legacy = legacyToken(meterNumber, units, tid);
+                        assertEquals(legacy, tokenUtil.generateToken(meterNumber, units, tid),
+                                () -> locale + " " + meterNumber + "|" + tid + "|" + units);
+                        assertTrue(tokenUtil.isTokenValid(legacy, meterNumber, units, tid));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsAlteredOrMalformedTokens() {
+        String token = tokenUtil.generateToken("12345678901", 100, 1_000_000_000);
+        char last = token.charAt(token.length() - 1);
+        String altered = token.substring(0, token.length() - 1) + (char) ('0' + (last - '0' + 1) % 10);
+        assertFalse(tokenUtil.isTokenValid(altered, "12345678901", 100, 1_000_000_000));
+        assertFalse(tokenUtil.isTokenValid(token + "0", "12345678901", 100, 1_000_000_000));
+        assertFalse(tokenUtil.isTokenValid(token.substring(1), "12345678901", 100, 1_000_000_000));
+        assertFalse(tokenUtil.isTokenValid(token, "12345678901", 100.01, 1_000_000_000));
+    }
+
+    @Test
+    void normalizesEnteredTokens() {
+        assertEquals("12345-67890-12345-67890", tokenUtil.normalizeToken("1234567890 1234567890"));
+        assertEquals("12345-67890-12345-67890", tokenUtil.normalizeToken("12345-67890-12345-67890"));
+        assertNull(tokenUtil.normalizeToken("12345-67890-12345-6789"));
+        assertNull(tokenUtil.normalizeToken("12345-67890-12345-6789X"));
+        assertNull(tokenUtil.normalizeToken(null));
+    }
+
+    /**
+     * The implementation tokens were issued with before the fast path: format the data, hex-encode the
+     * HMAC and map the first 20 hex characters to digits.
+     */
+    private static String legacyToken(String meterNumber, double units, long tid) throws Exception {
+        String data = String.format("%s|%d|%.2f", meterNumber, tid, units);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("REG_SECRET_KEY".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : mac.doFinal(data.getBytes(StandardCharsets.UTF_8))) {
+            String digit = Integer.toHexString(0xFF & b);
+            if (digit.length() == 1) {
+                hex.append('0');
+            }
+            hex.append(digit);
+        }
+        StringBuilder numeric = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            numeric.append((hex.charAt(i) & 0xFF) % 10);
+        }
+        return numeric.substring(0, 5) + "-" + numeric.substring(5, 10) + "-"
+                + numeric.substring(10, 15) + "-" + numeric.substring(15, 20);
+    }
+}
@@ -0,0 +1,127 @@
+package com.spring.fortress.vehicles.utils;
+
+import com.spring.fortress.vehicles.security.JwtClaims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link JwtUtil#verify(String, String)} accepts the tokens {@link JwtUtil#createToken} issues and
+ * rejects tokens that are forged, expired or malformed.
+ *
+ * @author Fortress Backend
+ * @since 1.0
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-with-enough-entropy-for-hs256";
+    private static final String OTHER_SECRET = "another-secret-key-with-enough-entropy-for-hs256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Test
+    void verifiesIssuedToken() {
+        long now = System.currentTimeMillis() / 1000;
+        JwtClaims claims = JwtUtil.verify(JwtUtil.createToken(SECRET, "driver@fortress.rw", "fortress", 3600), SECRET);
+
+        assertNotNull(claims);
+        assertEquals("driver@fortress.rw", claims.subject());
+        assertEquals("fortress", claims.issuer());
+        assertTrue(Math.abs(claims.issuedAt() - now) <= 1);
+        // iat and exp are read from the clock separately, so a second may tick between them
+        long lifetime = claims.expiresAt() - claims.issuedAt();
+        assertTrue(lifetime == 3600 || lifetime == 3601, () -> "Unexpected lifetime " + lifetime);
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherSecret() {
+        String token = JwtUtil.createToken(OTHER_SECRET, "driver@fortress.rw", "fortress", 3600);
+
+        assertNull(JwtUtil.verify(token, SECRET));
+        // The pooled Mac is re-keyed, so the right secret still verifies afterwards
+        assertNotNull(JwtUtil.verify(token, OTHER_SECRET));
+        assertNotNull(JwtUtil.verify(JwtUtil.createToken(SECRET, "a@fortress.rw", "fortress", 60), SECRET));
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = JwtUtil.createToken(SECRET, "driver@fortress.rw", "fortress", 3600);
+        String[] parts = token.split("\\.");
+        String forged = ENCODER.encodeToString(("{\"sub\":\"admin@fortress.rw\",\"iss\":\"fortress\",\"exp\":"
+                + (System.currentTimeMillis() / 1000 + 3600) + "}").getBytes(StandardCharsets.UTF_8));
+
+        assertNull(JwtUtil.verify(parts[0] + "." + forged + "." + parts[2], SECRET));
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = JwtUtil.createToken(SECRET, "driver@fortress.rw", "fortress", 3600);
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        assertNull(JwtUtil.verify(tampered, SECRET));
+        assertNull(JwtUtil.verify(token + "A", SECRET));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = JwtUtil.createToken(SECRET, "driver@fortress.rw", "fortress", -1);
+
+        assertNull(JwtUtil.verify(token, SECRET));
+        assertFalse(JwtUtil.isTokenValid(token, SECRET));
+        assertTrue(JwtUtil.isTokenExpired(token));
+        assertEquals("driver@fortress.rw", JwtUtil.extractUsername(token));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"sub\":\"driver@fortress.rw\"}",
+            "{\"sub\":\"driver@fortress.rw\",\"exp\":\"tomorrow\"}",
+            "[\"driver@fortress.rw\"]",
+            "not json"
+    })
+    void rejectsSignedTokenWithoutUsableExpiry(String payload) throws Exception {
+        assertNull(JwtUtil.verify(sign("{\"alg\":\"HS256\",\"typ\":\"JWT\"}", payload), SECRET));
+    }
+
+    @Test
+    void acceptsSignedTokenWithExtraClaims() throws Exception {
+        long exp = System.currentTimeMillis() / 1000 + 60;
+        String payload = "{\"roles\":[\"ADMIN\"],\"nested\":{\"sub\":\"ignored\"},\"sub\":\"driver@fortress.rw\","
+                + "\"exp\":" + exp + "}";
+
+        JwtClaims claims = JwtUtil.verify(sign("{\"alg\":\"HS256\"}", payload), SECRET);
+        assertNotNull(claims);
+        assertEquals("driver@fortress.rw", claims.subject());
+        assertNull(claims.issuer());
+        assertEquals(exp, claims.expiresAt());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "abc", "a.b", "a.b.c.d", "a.!!!.c", "é.é.é"})
+    void rejectsMalformedToken(String token) {
+        assertNull(JwtUtil.verify(token, SECRET));
+    }
+
+    /**
+     * Signs a token the way {@link JwtUtil#createToken} does: the Base64URL signature is encoded once more.
+     */
+    private static String sign(String header, String payload) throws Exception {
+        String signed = ENCODER.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = ENCODER.encodeToString(mac.doFinal(signed.getBytes(StandardCharsets.UTF_8)));
+        return signed + "." + ENCODER.encodeToString(signature.getBytes(StandardCharsets.UTF_8));
+    }
+}